@@ -0,0 +1,134 @@
+package main.java.com.mms.benchmark;
+
+import main.java.com.mms.board.Board;
+import main.java.com.mms.board.BoardGeometry;
+import main.java.com.mms.board.CandidateGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the candidate engine: placing every value of a solved board with incremental updates, and reading the
+ * candidates of all cells of a half-filled board.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CandidateBenchmark {
+
+    /**
+     * The size of the Sudoku grid (number of rows/columns in a subgrid).
+     */
+    @Param({"2", "3", "4", "5"})
+    private int size;
+
+    /**
+     * The seed of the random choices, fixed so every run measures the same sequence of boards.
+     */
+    @Param({"42"})
+    private long seed;
+
+    /**
+     * The values of a solved board in row-major order.
+     */
+    private int[] solution;
+
+    /**
+     * The grid that is filled in every invocation of {@link #fill()}.
+     */
+    private CandidateGrid grid;
+
+    /**
+     * A grid holding every other value of the solved board.
+     */
+    private CandidateGrid halfFilled;
+
+    /**
+     * Generates a solved board and prepares both grids.
+     */
+    @Setup
+    public void setup() {
+
+        Board board = new Board(this.size, new SplittableRandom(this.seed));
+        board.generateBoard();
+
+        BoardGeometry geometry = BoardGeometry.of(this.size);
+        int fullSize = geometry.getFullSize();
+
+        this.solution = new int[geometry.getCellCount()];
+        this.grid = new CandidateGrid(geometry);
+        this.halfFilled = new CandidateGrid(geometry);
+
+        for (int cell = 0; cell < this.solution.length; cell++) {
+
+            this.solution[cell] = board.getValue(cell / fullSize, cell % fullSize);
+
+            if (cell % 2 == 0) {
+
+                this.halfFilled.place(cell, this.solution[cell]);
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Clears the grid and places every value of the solved board.
+     *
+     * @return The number of filled cells, returned so the work cannot be eliminated.
+     */
+    @Benchmark
+    public int fill() {
+
+        this.grid.clear();
+
+        for (int cell = 0; cell < this.solution.length; cell++) {
+
+            this.grid.place(cell, this.solution[cell]);
+
+        }
+
+        return this.grid.getFilledCount();
+
+    }
+
+    /**
+     * Computes the candidates of every empty cell of the half-filled grid.
+     *
+     * @return The combined candidates, returned so the work cannot be eliminated.
+     */
+    @Benchmark
+    public long candidates() {
+
+        long combined = 0;
+
+        for (int cell = 0; cell < this.solution.length; cell++) {
+
+            if (this.halfFilled.getValue(cell) == 0) {
+
+                combined ^= this.halfFilled.getCandidates(cell);
+
+            }
+
+        }
+
+        return combined;
+
+    }
+
+}
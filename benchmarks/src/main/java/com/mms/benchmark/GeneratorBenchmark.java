@@ -0,0 +1,71 @@
+package main.java.com.mms.benchmark;
+
+import main.java.com.mms.board.Board;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many complete boards {@link Board#generateBoard()} fills per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    /**
+     * The size of the Sudoku grid (number of rows/columns in a subgrid).
+     */
+    @Param({"2", "3", "4", "5"})
+    private int size;
+
+    /**
+     * The seed of the random choices, fixed so every run measures the same sequence of boards.
+     */
+    @Param({"42"})
+    private long seed;
+
+    /**
+     * The board that is filled again in every invocation.
+     */
+    private Board board;
+
+    /**
+     * Creates the board for the current size.
+     */
+    @Setup
+    public void setup() {
+
+        this.board = new Board(this.size, new SplittableRandom(this.seed));
+
+    }
+
+    /**
+     * Fills the board with a new random solution.
+     *
+     * @return The filled board, returned so the work cannot be eliminated.
+     */
+    @Benchmark
+    public Board generateBoard() {
+
+        this.board.generateBoard();
+
+        return this.board;
+
+    }
+
+}
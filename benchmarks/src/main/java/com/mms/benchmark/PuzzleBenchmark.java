@@ -0,0 +1,147 @@
+package main.java.com.mms.benchmark;
+
+import main.java.com.mms.board.Board;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many puzzles per second are dug out of a filled board at every difficulty level.
+ * A pool of filled boards is generated before every iteration, outside of the measured time, and every invocation
+ * digs a fresh copy of the next one. Copying a board costs a small fraction of the digging and avoids the
+ * per-invocation setup, whose timing overhead would distort the short invocations of the small sizes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PuzzleBenchmark {
+
+    /**
+     * The time in milliseconds the uniqueness-checked digging may take, large enough to never cut it short.
+     */
+    private static final long TIME_BUDGET = 60000;
+
+    /**
+     * The number of filled boards generated per iteration.
+     */
+    private static final int POOL_SIZE = 64;
+
+    /**
+     * The size of the Sudoku grid (number of rows/columns in a subgrid).
+     */
+    @Param({"2", "3", "4", "5"})
+    private int size;
+
+    /**
+     * The seed of the random choices, fixed so every run measures the same sequence of boards.
+     */
+    @Param({"42"})
+    private long seed;
+
+    /**
+     * The difficulty levels offered by the game: easy, middle and hard.
+     */
+    @Param({"0.3", "0.5", "1.0"})
+    private double difficulty;
+
+    /**
+     * The board the puzzle is dug out of.
+     */
+    private Board board;
+
+    /**
+     * The values of the filled boards the invocations cycle through.
+     */
+    private byte[][] pool;
+
+    /**
+     * The position in the pool of the board the next invocation digs.
+     */
+    private int next;
+
+    /**
+     * Creates the board and the pool for the current size.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+
+        this.board = new Board(this.size, new SplittableRandom(this.seed));
+        this.pool = new byte[POOL_SIZE][this.size * this.size * this.size * this.size];
+
+    }
+
+    /**
+     * Fills the pool with new solutions before every iteration.
+     */
+    @Setup(Level.Iteration)
+    public void fill() {
+
+        for (byte[] values : this.pool) {
+
+            this.board.generateBoard();
+            this.board.copyValues(values);
+
+        }
+
+        this.next = 0;
+
+    }
+
+    /**
+     * Digs a puzzle that stays solvable with naked singles.
+     *
+     * @return The board holding the puzzle, returned so the work cannot be eliminated.
+     */
+    @Benchmark
+    public Board generatePuzzle() {
+
+        restore();
+        this.board.generatePuzzle(this.difficulty);
+
+        return this.board;
+
+    }
+
+    /**
+     * Digs a puzzle that keeps a unique solution.
+     *
+     * @return The board holding the puzzle, returned so the work cannot be eliminated.
+     */
+    @Benchmark
+    public Board generateUniquePuzzle() {
+
+        restore();
+        this.board.generateUniquePuzzle(this.difficulty, TIME_BUDGET);
+
+        return this.board;
+
+    }
+
+    /* HELPER FUNCTIONS */
+
+    /**
+     * Copies the next filled board of the pool into the board, starting over at the end of the pool.
+     */
+    private void restore() {
+
+        this.board.setGivens(this.pool[this.next]);
+        this.next = (this.next + 1) % POOL_SIZE;
+
+    }
+
+}
@@ -0,0 +1,85 @@
+package main.java.com.mms.benchmark;
+
+import main.java.com.mms.board.Board;
+import main.java.com.mms.board.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many submitted boards per second are checked against the game's rules, using a correctly solved
+ * board so every cell has to be examined.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    /**
+     * The size of the Sudoku grid (number of rows/columns in a subgrid).
+     */
+    @Param({"2", "3", "4", "5"})
+    private int size;
+
+    /**
+     * The seed of the random choices, fixed so every run measures the same sequence of boards.
+     */
+    @Param({"42"})
+    private long seed;
+
+    /**
+     * The solved board in the form the window submits it.
+     */
+    private int[][] numberField;
+
+    /**
+     * Generates a solved board and converts it to a number field.
+     */
+    @Setup
+    public void setup() {
+
+        Board board = new Board(this.size, new SplittableRandom(this.seed));
+        board.generateBoard();
+
+        int fullSize = this.size * this.size;
+        this.numberField = new int[fullSize][fullSize];
+
+        for (int i = 0; i < fullSize; i++) {
+
+            for (int j = 0; j < fullSize; j++) {
+
+                this.numberField[i][j] = board.getValue(i, j);
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Validates the solved board.
+     *
+     * @return The validation result, returned so the work cannot be eliminated.
+     */
+    @Benchmark
+    public boolean validate() {
+
+        return Validator.validate(this.numberField, this.size);
+
+    }
+
+}
@@ -0,0 +1,234 @@
+package main.java.com.mms.bank;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Describes the binary layout of a puzzle bank file.
+ * A bank starts with a header of {@link #HEADER_LENGTH} bytes:
+ * <pre>
+ * offset  0  int   magic number "SDKB"
+ * offset  4  short format version
+ * offset  6  byte  size (number of rows/columns in a subgrid)
+ * offset  7  byte  flags, {@link #FLAG_DIFFICULTY} if records carry difficulty metadata
+ * offset  8  int   record length in bytes
+ * offset 12  long  number of records
+ * offset 20        reserved, zero
+ * </pre>
+ * It is followed by fixed-width records. Every record stores the solution with {@link #getBitsPerValue()} bits per
+ * cell (value - 1, packed most significant bit first), then one bit per cell marking the givens, then optionally
+ * the difficulty as a float. Each section starts on a byte boundary. A 9x9 record takes 52 bytes, 56 with
+ * difficulty.
+ */
+final class BankLayout {
+
+    /**
+     * The magic number identifying a puzzle bank ("SDKB").
+     */
+    static final int MAGIC = 0x53444B42;
+
+    /**
+     * The version of the format described here.
+     */
+    static final short VERSION = 1;
+
+    /**
+     * The length of the header in bytes.
+     */
+    static final int HEADER_LENGTH = 32;
+
+    /**
+     * The offset of the record count within the header.
+     */
+    static final int COUNT_OFFSET = 12;
+
+    /**
+     * The flag marking banks whose records carry difficulty metadata.
+     */
+    static final int FLAG_DIFFICULTY = 1;
+
+    /**
+     * Determines the number of rows/columns in a single subgrid.
+     */
+    private final int size;
+
+    /**
+     * The number of cells of a puzzle.
+     */
+    private final int cellCount;
+
+    /**
+     * The number of bits used for a single solution value.
+     */
+    private final int bitsPerValue;
+
+    /**
+     * The offset of the givens mask within a record.
+     */
+    private final int maskOffset;
+
+    /**
+     * The offset of the difficulty within a record.
+     */
+    private final int difficultyOffset;
+
+    /**
+     * The length of a record in bytes.
+     */
+    private final int recordLength;
+
+    /**
+     * Indicates whether records carry difficulty metadata.
+     */
+    private final boolean difficulty;
+
+    /**
+     * Constructs the layout for banks of the given size.
+     *
+     * @param size       The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @param difficulty True if records carry difficulty metadata.
+     */
+    BankLayout(int size, boolean difficulty) {
+
+        int fullSize = size * size;
+
+        this.size = size;
+        this.cellCount = fullSize * fullSize;
+        this.bitsPerValue = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(fullSize - 1));
+        this.maskOffset = (this.cellCount * this.bitsPerValue + 7) / 8;
+        this.difficultyOffset = this.maskOffset + (this.cellCount + 7) / 8;
+        this.recordLength = this.difficultyOffset + (difficulty ? Float.BYTES : 0);
+        this.difficulty = difficulty;
+
+    }
+
+    /**
+     * Reads the layout from a bank header.
+     *
+     * @param header A buffer positioned at the start of the header.
+     * @return The layout described by the header.
+     * @throws IOException If the header does not describe a supported bank.
+     */
+    static BankLayout read(ByteBuffer header) throws IOException {
+
+        if (header.getInt(0) != MAGIC) {
+
+            throw new IOException("Not a puzzle bank");
+
+        }
+
+        if (header.getShort(4) != VERSION) {
+
+            throw new IOException("Unsupported puzzle bank version " + header.getShort(4));
+
+        }
+
+        BankLayout layout = new BankLayout(header.get(6), (header.get(7) & FLAG_DIFFICULTY) != 0);
+
+        if (header.getInt(8) != layout.recordLength) {
+
+            throw new IOException("Corrupt puzzle bank header");
+
+        }
+
+        return layout;
+
+    }
+
+    /**
+     * Writes a header describing this layout and the given record count.
+     *
+     * @param header A buffer of at least {@link #HEADER_LENGTH} bytes.
+     * @param count  The number of records.
+     */
+    void write(ByteBuffer header, long count) {
+
+        header.putInt(0, MAGIC);
+        header.putShort(4, VERSION);
+        header.put(6, (byte) this.size);
+        header.put(7, (byte) (this.difficulty ? FLAG_DIFFICULTY : 0));
+        header.putInt(8, this.recordLength);
+        header.putLong(COUNT_OFFSET, count);
+
+    }
+
+    /* GETTER */
+
+    /**
+     * Retrieves the number of rows/columns in a single subgrid.
+     *
+     * @return The subgrid size.
+     */
+    int getSize() {
+
+        return this.size;
+
+    }
+
+    /**
+     * Retrieves the number of cells of a puzzle.
+     *
+     * @return The cell count.
+     */
+    int getCellCount() {
+
+        return this.cellCount;
+
+    }
+
+    /**
+     * Retrieves the number of bits used for a single solution value.
+     *
+     * @return The bits per value.
+     */
+    int getBitsPerValue() {
+
+        return this.bitsPerValue;
+
+    }
+
+    /**
+     * Retrieves the offset of the givens mask within a record.
+     *
+     * @return The mask offset in bytes.
+     */
+    int getMaskOffset() {
+
+        return this.maskOffset;
+
+    }
+
+    /**
+     * Retrieves the offset of the difficulty within a record.
+     *
+     * @return The difficulty offset in bytes.
+     */
+    int getDifficultyOffset() {
+
+        return this.difficultyOffset;
+
+    }
+
+    /**
+     * Retrieves the length of a record.
+     *
+     * @return The record length in bytes.
+     */
+    int getRecordLength() {
+
+        return this.recordLength;
+
+    }
+
+    /**
+     * Checks whether records carry difficulty metadata.
+     *
+     * @return True if every record stores a difficulty, false otherwise.
+     */
+    boolean hasDifficulty() {
+
+        return this.difficulty;
+
+    }
+
+}
@@ -0,0 +1,225 @@
+package main.java.com.mms.bank;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A set of 64-bit puzzle fingerprints stored outside the Java heap, used to drop duplicate puzzles while a bank is
+ * being written. The fingerprints are kept in a direct buffer as an open-addressing hash table with linear probing,
+ * where a zero slot marks a free place; the fingerprint zero itself is tracked separately. The table doubles once it
+ * is filled to {@link #MAX_LOAD}, so each fingerprint costs between about 11 and 23 bytes and the garbage collector
+ * never has to trace the entries.
+ * An instance is not thread-safe.
+ */
+public class FingerprintSet {
+
+    /**
+     * The default number of slots of a new set.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /**
+     * The fill ratio at which the table is doubled.
+     */
+    public static final double MAX_LOAD = 0.7;
+
+    /**
+     * The largest number of slots a direct buffer can hold.
+     */
+    private static final int MAX_CAPACITY = 1 << 27;
+
+    /**
+     * The slots of the hash table, eight bytes each.
+     */
+    private ByteBuffer table;
+
+    /**
+     * The number of slots, always a power of two.
+     */
+    private int capacity;
+
+    /**
+     * The number of fingerprints stored in the table.
+     */
+    private int size;
+
+    /**
+     * Indicates whether the fingerprint zero, which cannot be stored in a slot, was added.
+     */
+    private boolean containsZero;
+
+    /**
+     * Constructs an empty set with the default capacity.
+     */
+    public FingerprintSet() {
+
+        this(DEFAULT_CAPACITY);
+
+    }
+
+    /**
+     * Constructs an empty set with room for about the given number of fingerprints before the table grows.
+     *
+     * @param expectedSize The number of fingerprints expected.
+     */
+    public FingerprintSet(int expectedSize) {
+
+        int capacity = 16;
+
+        while (capacity < MAX_CAPACITY && capacity * MAX_LOAD < expectedSize) {
+
+            capacity <<= 1;
+
+        }
+
+        allocate(capacity);
+
+    }
+
+    /* GETTER */
+
+    /**
+     * Retrieves the number of fingerprints in the set.
+     *
+     * @return The number of distinct fingerprints added.
+     */
+    public long size() {
+
+        return this.size + (this.containsZero ? 1 : 0);
+
+    }
+
+    /* GENERAL FUNCTIONS */
+
+    /**
+     * Adds a fingerprint to the set.
+     *
+     * @param fingerprint The fingerprint to add.
+     * @return True if the fingerprint was not contained before, false otherwise.
+     * @throws IllegalStateException If the table would exceed the largest possible capacity.
+     */
+    public boolean add(long fingerprint) {
+
+        if (fingerprint == 0) {
+
+            boolean added = !this.containsZero;
+            this.containsZero = true;
+
+            return added;
+
+        }
+
+        int slot = find(fingerprint);
+
+        if (this.table.getLong(slot << 3) != 0) {
+
+            return false;
+
+        }
+
+        this.table.putLong(slot << 3, fingerprint);
+        this.size++;
+
+        if (this.size > this.capacity * MAX_LOAD) {
+
+            grow();
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * Checks whether the set contains a fingerprint.
+     *
+     * @param fingerprint The fingerprint to look up.
+     * @return True if the fingerprint was added before, false otherwise.
+     */
+    public boolean contains(long fingerprint) {
+
+        if (fingerprint == 0) {
+
+            return this.containsZero;
+
+        }
+
+        return this.table.getLong(find(fingerprint) << 3) != 0;
+
+    }
+
+    /* HELPER FUNCTIONS */
+
+    /**
+     * Finds the slot holding a fingerprint, or the free slot where it would be stored.
+     *
+     * @param fingerprint The fingerprint to look up, not zero.
+     * @return The index of the slot.
+     */
+    private int find(long fingerprint) {
+
+        int mask = this.capacity - 1;
+        int slot = (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+
+        while (true) {
+
+            long stored = this.table.getLong(slot << 3);
+
+            if (stored == 0 || stored == fingerprint) {
+
+                return slot;
+
+            }
+
+            slot = (slot + 1) & mask;
+
+        }
+
+    }
+
+    /**
+     * Replaces the table with an empty one of the given number of slots.
+     *
+     * @param capacity The number of slots, a power of two.
+     */
+    private void allocate(int capacity) {
+
+        this.table = ByteBuffer.allocateDirect(capacity << 3);
+        this.capacity = capacity;
+        this.size = 0;
+
+    }
+
+    /**
+     * Doubles the number of slots and reinserts all fingerprints.
+     */
+    private void grow() {
+
+        if (this.capacity >= MAX_CAPACITY) {
+
+            throw new IllegalStateException("Fingerprint set exceeds " + MAX_CAPACITY + " slots");
+
+        }
+
+        ByteBuffer old = this.table;
+        int oldCapacity = this.capacity;
+        int size = this.size;
+
+        allocate(oldCapacity << 1);
+
+        for (int slot = 0; slot < oldCapacity; slot++) {
+
+            long fingerprint = old.getLong(slot << 3);
+
+            if (fingerprint != 0) {
+
+                this.table.putLong(find(fingerprint) << 3, fingerprint);
+
+            }
+
+        }
+
+        this.size = size;
+
+    }
+
+}
@@ -0,0 +1,264 @@
+package main.java.com.mms.bank;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Provides random access to the puzzles of a binary puzzle bank (see {@link BankLayout} for the format).
+ * The records are memory-mapped, so fetching puzzle #N is a constant-time offset calculation that reads the
+ * packed bits straight from the mapping, without parsing the file or copying records to the heap.
+ * Banks larger than a single mapping are split into several mapped segments of whole records.
+ * Reading is thread-safe; the bank must not be appended to while it is open for reading.
+ */
+public class PuzzleBankReader implements Closeable {
+
+    /**
+     * The channel of the bank file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The layout of the records.
+     */
+    private final BankLayout layout;
+
+    /**
+     * The number of puzzles in the bank.
+     */
+    private final long count;
+
+    /**
+     * The number of records in every mapped segment.
+     */
+    private final int recordsPerSegment;
+
+    /**
+     * The mapped segments of the record area.
+     */
+    private final MappedByteBuffer[] segments;
+
+    /**
+     * Opens a bank and maps its records.
+     *
+     * @param file The bank file.
+     * @throws IOException If the file cannot be read or is not a puzzle bank.
+     */
+    public PuzzleBankReader(Path file) throws IOException {
+
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+
+        try {
+
+            ByteBuffer header = ByteBuffer.allocate(BankLayout.HEADER_LENGTH);
+            this.channel.read(header, 0);
+
+            this.layout = BankLayout.read(header);
+            int recordLength = this.layout.getRecordLength();
+            long available = (this.channel.size() - BankLayout.HEADER_LENGTH) / recordLength;
+
+            this.count = Math.min(header.getLong(BankLayout.COUNT_OFFSET), available);
+            this.recordsPerSegment = Integer.MAX_VALUE / recordLength;
+            this.segments = new MappedByteBuffer[(int) ((this.count + this.recordsPerSegment - 1)
+                    / this.recordsPerSegment)];
+
+            for (int i = 0; i < this.segments.length; i++) {
+
+                long first = (long) i * this.recordsPerSegment;
+                long records = Math.min(this.recordsPerSegment, this.count - first);
+
+                this.segments[i] = this.channel.map(FileChannel.MapMode.READ_ONLY,
+                        BankLayout.HEADER_LENGTH + first * recordLength, records * recordLength);
+
+            }
+
+        } catch (IOException e) {
+
+            this.channel.close();
+            throw e;
+
+        }
+
+    }
+
+    /* GETTER */
+
+    /**
+     * Retrieves the number of puzzles in the bank.
+     *
+     * @return The puzzle count.
+     */
+    public long getCount() {
+
+        return this.count;
+
+    }
+
+    /**
+     * Retrieves the size of the puzzles in the bank.
+     *
+     * @return The number of rows/columns in a subgrid.
+     */
+    public int getSize() {
+
+        return this.layout.getSize();
+
+    }
+
+    /**
+     * Checks whether the puzzles carry difficulty metadata.
+     *
+     * @return True if every puzzle stores a difficulty, false otherwise.
+     */
+    public boolean hasDifficulty() {
+
+        return this.layout.hasDifficulty();
+
+    }
+
+    /* GENERAL FUNCTIONS */
+
+    /**
+     * Retrieves the solution value of a cell.
+     *
+     * @param index The number of the puzzle, from 0 to {@link #getCount()} - 1.
+     * @param cell  The linear index of the cell.
+     * @return The value of the cell in the solution.
+     */
+    public int getSolutionValue(long index, int cell) {
+
+        MappedByteBuffer segment = segment(index);
+        int offset = offset(index);
+        int bits = this.layout.getBitsPerValue();
+        int bitPosition = cell * bits;
+        int position = offset + (bitPosition >> 3);
+        int window = ((segment.get(position) & 0xFF) << 8) | (segment.get(position + 1) & 0xFF);
+
+        return ((window >>> (16 - bits - (bitPosition & 7))) & ((1 << bits) - 1)) + 1;
+
+    }
+
+    /**
+     * Checks whether a cell is given in the puzzle.
+     *
+     * @param index The number of the puzzle, from 0 to {@link #getCount()} - 1.
+     * @param cell  The linear index of the cell.
+     * @return True if the cell is given, false if it is empty.
+     */
+    public boolean isGiven(long index, int cell) {
+
+        int position = offset(index) + this.layout.getMaskOffset() + (cell >> 3);
+
+        return (segment(index).get(position) & (0x80 >>> (cell & 7))) != 0;
+
+    }
+
+    /**
+     * Retrieves the value of a cell in the puzzle.
+     *
+     * @param index The number of the puzzle, from 0 to {@link #getCount()} - 1.
+     * @param cell  The linear index of the cell.
+     * @return The given value of the cell, zero if it is empty.
+     */
+    public int getValue(long index, int cell) {
+
+        return isGiven(index, cell) ? getSolutionValue(index, cell) : 0;
+
+    }
+
+    /**
+     * Retrieves the difficulty stored with a puzzle.
+     *
+     * @param index The number of the puzzle, from 0 to {@link #getCount()} - 1.
+     * @return The difficulty, or NaN if the bank carries no difficulty metadata.
+     */
+    public float getDifficulty(long index) {
+
+        if (!this.layout.hasDifficulty()) {
+
+            return Float.NaN;
+
+        }
+
+        return segment(index).getFloat(offset(index) + this.layout.getDifficultyOffset());
+
+    }
+
+    /**
+     * Copies the puzzle into the given array.
+     *
+     * @param index  The number of the puzzle, from 0 to {@link #getCount()} - 1.
+     * @param target The array receiving the puzzle in row-major order, zero marking an empty cell.
+     */
+    public void readPuzzle(long index, byte[] target) {
+
+        for (int cell = 0; cell < this.layout.getCellCount(); cell++) {
+
+            target[cell] = (byte) getValue(index, cell);
+
+        }
+
+    }
+
+    /**
+     * Copies the solution into the given array.
+     *
+     * @param index  The number of the puzzle, from 0 to {@link #getCount()} - 1.
+     * @param target The array receiving the solution in row-major order.
+     */
+    public void readSolution(long index, byte[] target) {
+
+        for (int cell = 0; cell < this.layout.getCellCount(); cell++) {
+
+            target[cell] = (byte) getSolutionValue(index, cell);
+
+        }
+
+    }
+
+    /**
+     * Closes the file. The mappings stay valid until they are garbage collected.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+
+        this.channel.close();
+
+    }
+
+    /* HELPER FUNCTIONS */
+
+    /**
+     * Retrieves the mapped segment containing a record.
+     *
+     * @param index The number of the puzzle.
+     * @return The segment holding the record.
+     */
+    private MappedByteBuffer segment(long index) {
+
+        Objects.checkIndex(index, this.count);
+
+        return this.segments[(int) (index / this.recordsPerSegment)];
+
+    }
+
+    /**
+     * Calculates the offset of a record within its segment.
+     *
+     * @param index The number of the puzzle.
+     * @return The offset of the record in bytes.
+     */
+    private int offset(long index) {
+
+        return (int) (index % this.recordsPerSegment) * this.layout.getRecordLength();
+
+    }
+
+}
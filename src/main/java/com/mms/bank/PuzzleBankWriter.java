@@ -0,0 +1,287 @@
+package main.java.com.mms.bank;
+
+import main.java.com.mms.board.Board;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Appends puzzles to a binary puzzle bank (see {@link BankLayout} for the format).
+ * Records are packed into a batch buffer and written with a single channel write once the batch is full; the
+ * record count in the header is updated after every batch, so an interrupted run leaves a readable bank.
+ * An existing bank of the same size and flags is continued instead of replaced.
+ * An instance is not thread-safe.
+ */
+public class PuzzleBankWriter implements Closeable {
+
+    /**
+     * The default number of records written per batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 4096;
+
+    /**
+     * The channel of the bank file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The layout of the records.
+     */
+    private final BankLayout layout;
+
+    /**
+     * Collects packed records until the batch is written.
+     */
+    private final ByteBuffer batch;
+
+    /**
+     * Holds the record being packed.
+     */
+    private final byte[] record;
+
+    /**
+     * Holds the givens of a board being appended.
+     */
+    private final byte[] givens;
+
+    /**
+     * Holds the solution of a board being appended.
+     */
+    private final byte[] solution;
+
+    /**
+     * The number of records in the file, including the ones not yet written.
+     */
+    private long count;
+
+    /**
+     * The number of records already written to the file.
+     */
+    private long writtenCount;
+
+    /**
+     * Opens a bank for appending with the default batch size, creating it if it does not exist.
+     *
+     * @param file       The bank file.
+     * @param size       The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @param difficulty True if records carry difficulty metadata.
+     * @throws IOException If the file cannot be opened or is a bank of a different size or format.
+     */
+    public PuzzleBankWriter(Path file, int size, boolean difficulty) throws IOException {
+
+        this(file, size, difficulty, DEFAULT_BATCH_SIZE);
+
+    }
+
+    /**
+     * Opens a bank for appending, creating it if it does not exist.
+     *
+     * @param file       The bank file.
+     * @param size       The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @param difficulty True if records carry difficulty metadata.
+     * @param batchSize  The number of records written per batch.
+     * @throws IOException If the file cannot be opened or is a bank of a different size or format.
+     */
+    public PuzzleBankWriter(Path file, int size, boolean difficulty, int batchSize) throws IOException {
+
+        this.layout = new BankLayout(size, difficulty);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.batch = ByteBuffer.allocate(batchSize * this.layout.getRecordLength());
+        this.record = new byte[this.layout.getRecordLength()];
+        this.givens = new byte[this.layout.getCellCount()];
+        this.solution = new byte[this.layout.getCellCount()];
+
+        try {
+
+            ByteBuffer header = ByteBuffer.allocate(BankLayout.HEADER_LENGTH);
+
+            if (this.channel.size() == 0) {
+
+                this.layout.write(header, 0);
+                this.channel.write(header, 0);
+
+            } else {
+
+                this.channel.read(header, 0);
+                BankLayout existing = BankLayout.read(header);
+
+                if (existing.getSize() != size || existing.hasDifficulty() != difficulty) {
+
+                    throw new IOException("Existing puzzle bank has a different size or format");
+
+                }
+
+                this.count = header.getLong(BankLayout.COUNT_OFFSET);
+                this.writtenCount = this.count;
+
+            }
+
+        } catch (IOException e) {
+
+            this.channel.close();
+            throw e;
+
+        }
+
+    }
+
+    /**
+     * Creates a bank file, replacing an existing one.
+     *
+     * @param file       The bank file.
+     * @param size       The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @param difficulty True if records carry difficulty metadata.
+     * @return A writer for the new, empty bank.
+     * @throws IOException If the file cannot be created.
+     */
+    public static PuzzleBankWriter create(Path file, int size, boolean difficulty) throws IOException {
+
+        Files.deleteIfExists(file);
+
+        return new PuzzleBankWriter(file, size, difficulty);
+
+    }
+
+    /* GETTER */
+
+    /**
+     * Retrieves the number of puzzles in the bank, including the ones not yet written.
+     *
+     * @return The puzzle count.
+     */
+    public long getCount() {
+
+        return this.count;
+
+    }
+
+    /* GENERAL FUNCTIONS */
+
+    /**
+     * Appends the puzzle of a board together with its solution.
+     *
+     * @param board      A board holding a generated puzzle.
+     * @param difficulty The difficulty stored as metadata, ignored if the bank carries none.
+     * @throws IOException If a full batch cannot be written.
+     */
+    public void append(Board board, float difficulty) throws IOException {
+
+        board.copyValues(this.givens);
+        board.copySolution(this.solution);
+        append(this.givens, this.solution, difficulty);
+
+    }
+
+    /**
+     * Appends a puzzle together with its solution.
+     *
+     * @param givens     The puzzle in row-major order, zero marking an empty cell.
+     * @param solution   The solution in row-major order.
+     * @param difficulty The difficulty stored as metadata, ignored if the bank carries none.
+     * @throws IOException If a full batch cannot be written.
+     */
+    public void append(byte[] givens, byte[] solution, float difficulty) throws IOException {
+
+        int bits = this.layout.getBitsPerValue();
+        int maskOffset = this.layout.getMaskOffset();
+
+        if (givens.length != this.layout.getCellCount() || solution.length != this.layout.getCellCount()) {
+
+            throw new IllegalArgumentException("Puzzle does not match the bank size");
+
+        }
+
+        Arrays.fill(this.record, (byte) 0);
+
+        for (int cell = 0; cell < givens.length; cell++) {
+
+            if (givens[cell] != 0 && givens[cell] != solution[cell]) {
+
+                throw new IllegalArgumentException("Given in cell " + cell + " contradicts the solution");
+
+            }
+
+            int bitPosition = cell * bits;
+            int window = (solution[cell] - 1) << (16 - bits - (bitPosition & 7));
+
+            this.record[bitPosition >> 3] |= (byte) (window >> 8);
+            this.record[(bitPosition >> 3) + 1] |= (byte) window;
+
+            if (givens[cell] != 0) {
+
+                this.record[maskOffset + (cell >> 3)] |= (byte) (0x80 >>> (cell & 7));
+
+            }
+
+        }
+
+        if (this.layout.hasDifficulty()) {
+
+            ByteBuffer.wrap(this.record).putFloat(this.layout.getDifficultyOffset(), difficulty);
+
+        }
+
+        this.batch.put(this.record);
+        this.count++;
+
+        if (!this.batch.hasRemaining()) {
+
+            flush();
+
+        }
+
+    }
+
+    /**
+     * Writes the pending records and updates the record count in the header.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    public void flush() throws IOException {
+
+        this.batch.flip();
+
+        long position = BankLayout.HEADER_LENGTH + this.writtenCount * this.layout.getRecordLength();
+
+        while (this.batch.hasRemaining()) {
+
+            position += this.channel.write(this.batch, position);
+
+        }
+
+        this.batch.clear();
+        this.writtenCount = this.count;
+
+        ByteBuffer header = ByteBuffer.allocate(Long.BYTES).putLong(0, this.count);
+        this.channel.write(header, BankLayout.COUNT_OFFSET);
+
+    }
+
+    /**
+     * Writes the pending records and closes the file.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+
+        try {
+
+            flush();
+
+        } finally {
+
+            this.channel.close();
+
+        }
+
+    }
+
+}
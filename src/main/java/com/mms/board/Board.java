@@ -1,12 +1,59 @@
 package main.java.com.mms.board;
 
-import java.util.Random;
+import main.java.com.mms.metrics.DigEvent;
+import main.java.com.mms.metrics.FillEvent;
+import main.java.com.mms.metrics.GeneratorMetrics;
+import main.java.com.mms.solver.DancingLinks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a Sudoku board, managing the generation and modification of the game grid.
  */
 public class Board {
 
+    /**
+     * The largest supported subgrid size, limited by the 64 values a candidate bitmask can hold.
+     */
+    public static final int MAX_SIZE = 8;
+
+    /**
+     * The default number of backtracking steps a single fill attempt may take before it is restarted.
+     */
+    public static final int DEFAULT_BACKTRACK_LIMIT = 10000;
+
+    /**
+     * The smallest subgrid size whose boards are filled by the {@link DancingLinks} solver instead of the
+     * candidate search, which runs into long dead ends from 25x25 boards on.
+     */
+    public static final int LARGE_SIZE = 5;
+
+    /**
+     * The number of search nodes per cell a single fill attempt of the exact cover solver may visit.
+     */
+    private static final int FILL_STEPS_PER_CELL = 16;
+
+    /**
+     * The number of search nodes per cell a single uniqueness check may visit before the removal is rejected.
+     */
+    private static final int UNIQUENESS_STEPS_PER_CELL = 2;
+
+    /**
+     * The number of removals tested per worker thread in one round of {@link #generateMinimalPuzzle}.
+     */
+    private static final int REMOVALS_PER_THREAD = 4;
+
+    /**
+     * The solvers used by the fork/join workers of {@link #generateMinimalPuzzle}, one per thread and size.
+     */
+    private static final ThreadLocal<DancingLinks[]> WORKER_SOLVERS =
+            ThreadLocal.withInitial(() -> new DancingLinks[MAX_SIZE + 1]);
+
     /**
      * Determines the number of rows/columns in a single subgrid.
      */
@@ -18,10 +65,50 @@ public class Board {
     private int fullSize;
 
     /**
-     * Represents the Sudoku board as a two-dimensional array of Field objects.
-     * Each Field object corresponds to a cell on the Sudoku board.
+     * Describes the layout of the board, providing the row, column and subgrid of every cell.
+     */
+    private BoardGeometry geometry;
+
+    /**
+     * Represents the Sudoku board as a flat array of cell values in row-major order.
+     * The cell in row y and column x is stored at index y * fullSize + x, zero marking an empty cell.
+     */
+    private byte[] board;
+
+    /**
+     * Holds the completely filled board the current puzzle was dug out of, in the same layout as the board.
+     */
+    private byte[] solution;
+
+    /**
+     * The source of all random choices made while generating boards and puzzles.
+     */
+    private RandomGenerator random;
+
+    /**
+     * The exact cover solver for boards of the current size, created on first use.
+     */
+    private DancingLinks solver;
+
+    /**
+     * The number of backtracking steps a single fill attempt may take before it is restarted.
+     */
+    private int backtrackLimit = DEFAULT_BACKTRACK_LIMIT;
+
+    /**
+     * The number of restarts the last call of {@link #generateBoard()} needed.
      */
-    private Field[][] board;
+    private int restartCount;
+
+    /**
+     * The number of backtracking steps the last call of {@link #generateBoard()} took, summed over all attempts.
+     */
+    private long backtrackCount;
+
+    /**
+     * The number of values the last call of {@link #generateBoard()} placed, summed over all attempts.
+     */
+    private long placementCount;
 
     /**
      * Constructs a Sudoku board with the given size.
@@ -30,7 +117,37 @@ public class Board {
      */
     public Board(int size) {
 
+        this(size, new SplittableRandom());
+
+    }
+
+    /**
+     * Constructs a Sudoku board with the given size that draws its random choices from the given generator.
+     * Boards using generators in the same state generate the same boards and puzzles.
+     *
+     * @param size   The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @param random The source of all random choices.
+     */
+    public Board(int size, RandomGenerator random) {
+
         setSize(size);
+        this.random = random;
+
+    }
+
+    /**
+     * Constructs a Sudoku board with the given size holding the given cell values.
+     * The arrays are used directly, not copied.
+     *
+     * @param size     The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @param values   The cell values in row-major order, zero marking an empty cell.
+     * @param solution The solution in row-major order, or null if it is unknown.
+     */
+    Board(int size, byte[] values, byte[] solution) {
+
+        this(size);
+        this.board = values;
+        this.solution = solution;
 
     }
 
@@ -38,13 +155,14 @@ public class Board {
 
     /**
      * Sets the size of the sudoku grid.
+     * Sizes outside 1 to {@link #MAX_SIZE} are ignored.
      *
      * @param size The size to be set for the Sudoku grid (number of rows/columns in
      *             a subgrid).
      */
     public void setSize(int size) {
 
-        if (size < 1) {
+        if (size < 1 || size > MAX_SIZE) {
 
             return;
 
@@ -52,6 +170,111 @@ public class Board {
 
         this.size = size;
         this.fullSize = this.size * this.size;
+        this.geometry = BoardGeometry.of(size);
+        this.solver = null;
+
+    }
+
+    /**
+     * Retrieves the size of the sudoku grid.
+     *
+     * @return The number of rows/columns in a subgrid.
+     */
+    public int getSize() {
+
+        return this.size;
+
+    }
+
+    /**
+     * Sets the source of all random choices made while generating boards and puzzles.
+     * A null generator is ignored.
+     *
+     * @param random The random number generator to use.
+     */
+    public void setRandom(RandomGenerator random) {
+
+        if (random == null) {
+
+            return;
+
+        }
+
+        this.random = random;
+
+    }
+
+    /**
+     * Restarts the random choices from a seed, so the following boards and puzzles can be generated again.
+     *
+     * @param seed The seed of a new {@link SplittableRandom}.
+     */
+    public void setSeed(long seed) {
+
+        this.random = new SplittableRandom(seed);
+
+    }
+
+    /**
+     * Sets the number of backtracking steps a single fill attempt may take before the board is cleared and filled
+     * again from scratch. Restarting helps when an early random choice leads into a large dead subtree.
+     *
+     * @param backtrackLimit The maximum number of backtracking steps per attempt, at least 1.
+     */
+    public void setBacktrackLimit(int backtrackLimit) {
+
+        if (backtrackLimit < 1) {
+
+            return;
+
+        }
+
+        this.backtrackLimit = backtrackLimit;
+
+    }
+
+    /**
+     * Retrieves the number of backtracking steps a single fill attempt may take before it is restarted.
+     *
+     * @return The maximum number of backtracking steps per attempt.
+     */
+    public int getBacktrackLimit() {
+
+        return this.backtrackLimit;
+
+    }
+
+    /**
+     * Retrieves the number of restarts the last call of {@link #generateBoard()} needed.
+     *
+     * @return The number of discarded fill attempts.
+     */
+    public int getRestartCount() {
+
+        return this.restartCount;
+
+    }
+
+    /**
+     * Retrieves the number of backtracking steps the last call of {@link #generateBoard()} took.
+     *
+     * @return The number of undone placements, summed over all attempts.
+     */
+    public long getBacktrackCount() {
+
+        return this.backtrackCount;
+
+    }
+
+    /**
+     * Retrieves the number of values the last call of {@link #generateBoard()} placed.
+     * Boards filled by the exact cover search count one placement per cell of the final attempt.
+     *
+     * @return The number of placements, including those undone by backtracking, summed over all attempts.
+     */
+    public long getPlacementCount() {
+
+        return this.placementCount;
 
     }
 
@@ -65,148 +288,315 @@ public class Board {
      */
     public int getValue(int y, int x) {
 
-        return this.board[y][x].getValue();
+        return this.board[y * this.fullSize + x];
 
     }
 
-    /* GENERAL FUNCTIONS */
+    /**
+     * Copies the values of all cells into the given array.
+     *
+     * @param target The array receiving the values in row-major order, zero marking an empty cell.
+     */
+    public void copyValues(byte[] target) {
+
+        System.arraycopy(this.board, 0, target, 0, this.board.length);
+
+    }
 
     /**
-     * Generates an empty Sudoku board with all cells initialized to zero.
-     * Creates a 2D array of Field objects representing the Sudoku board and sets
-     * each cell's value to zero.
+     * Copies the solution of the current puzzle into the given array.
+     * The solution is known for boards filled by {@link #generateBoard()}.
+     *
+     * @param target The array receiving the solution in row-major order.
+     * @throws IllegalStateException If the solution of the board is unknown.
      */
-    private void generateEmptyBoard() {
+    public void copySolution(byte[] target) {
 
-        this.board = new Field[this.fullSize][this.fullSize];
+        if (this.solution == null) {
 
-        for (int i = 0; i < this.fullSize; i++) {
+            throw new IllegalStateException("The solution of this board is unknown");
+
+        }
+
+        System.arraycopy(this.solution, 0, target, 0, this.solution.length);
+
+    }
+
+    /**
+     * Loads a puzzle from an outside source, replacing the current board. The givens are copied, and the solution
+     * is unknown until {@link #solve()} is called.
+     *
+     * @param givens The given values in row-major order, zero marking an empty cell.
+     * @throws IllegalArgumentException If the array does not match the size of the board or holds a value outside
+     *                                  0 to fullSize.
+     */
+    public void setGivens(byte[] givens) {
 
-            for (int j = 0; j < this.fullSize; j++) {
+        if (givens.length != this.geometry.getCellCount()) {
 
-                this.board[i][j] = new Field(0);
+            throw new IllegalArgumentException("Givens do not match the size " + this.size);
+
+        }
+
+        for (int i = 0; i < givens.length; i++) {
+
+            if (givens[i] < 0 || givens[i] > this.fullSize) {
+
+                throw new IllegalArgumentException("Invalid value " + givens[i] + " in cell " + i);
 
             }
 
         }
 
+        this.board = givens.clone();
+        this.solution = null;
+
     }
 
     /**
-     * Generates a Sudoku board by filling it with values according to Sudoku rules.
-     * Uses a randomized approach to populate the board with valid values.
-     * It repeatedly attempts to fill the board with values while ensuring validity.
-     * If successful, the method stops; otherwise, it continues until a valid
-     * solution is found.
+     * Retrieves the values of all cells. The returned array is the board itself, not a copy.
+     *
+     * @return The cell values in row-major order, zero marking an empty cell.
      */
-    public void generateBoard() {
+    byte[] getValues() {
 
-        Random random = new Random();
-        while (true) {
+        return this.board;
 
-            long startTime = System.nanoTime();
-            generateEmptyBoard();
-            boolean success = true;
+    }
 
-            for (int it = 0; it < this.fullSize * this.fullSize; it++) {
+    /**
+     * Retrieves the solution of the current puzzle. The returned array is not a copy.
+     *
+     * @return The solution in row-major order, or null if it is unknown.
+     */
+    byte[] getSolution() {
 
-                updatePossibleValues(this.board);
-                int[][] possibleValuesArray = new int[this.fullSize * this.fullSize][];
+        return this.solution;
 
-                for (int i = 0; i < this.board.length; i++) {
+    }
 
-                    for (int j = 0; j < this.board.length; j++) {
+    /* GENERAL FUNCTIONS */
 
-                        possibleValuesArray[i * this.board.length + j] = this.board[i][j].getPossibleValues();
+    /**
+     * Generates a Sudoku board by filling it with values according to Sudoku rules.
+     * Uses a randomized depth-first search to populate the board with valid values.
+     * The candidates are kept up to date incrementally by a {@link CandidateGrid}, and every step fills a random
+     * cell among those with the fewest remaining candidates with a random candidate.
+     * Every placement is recorded on an undo trail together with the candidates not tried yet, so when a cell
+     * runs out of candidates the search backs up to the last choice point instead of starting over.
+     * Only if an attempt exceeds the backtrack limit, the board is cleared and filled again.
+     * Boards from {@link #LARGE_SIZE} on are filled by the {@link DancingLinks} solver with shuffled branches
+     * instead, which also places hidden singles and fills a 25x25 board in a few milliseconds; an attempt is
+     * restarted after a fixed number of search nodes per cell.
+     * If the current thread is interrupted, generation stops at the next dead end, the board keeps its
+     * previous state and the interrupt flag stays set.
+     *
+     * @throws CancellationException If the current thread was interrupted before the board was filled, so callers
+     *                               never go on with the previous board as if it were new.
+     */
+    public void generateBoard() {
 
-                    }
+        if (!generateBoard(GenerationControl.unbounded(null))) {
 
-                }
+            throw new CancellationException("Filling the board was interrupted");
 
-                Field[] boardArray = to1DArray(this.board);
+        }
 
-                int smallest = this.fullSize;
-                int smallestCount = 0;
+    }
 
-                for (int i = 0; i < possibleValuesArray.length; i++) {
+    /**
+     * Generates a Sudoku board like {@link #generateBoard()}, checking the given control at every dead end and
+     * between two attempts. Every restart and the number of cells every attempt filled are reported to the
+     * control's listener; the exact cover search used from {@link #LARGE_SIZE} on only reports the final attempt.
+     * There is no partial result of filling, so a stopped generation leaves the board in its previous state.
+     * The fill is reported to the {@link GeneratorMetrics}.
+     *
+     * @param control The control bounding the generation and receiving its progress.
+     * @return True if the board was filled, false if the control stopped the generation first.
+     */
+    public boolean generateBoard(GenerationControl control) {
 
-                    int length = possibleValuesArray[i].length;
+        GeneratorMetrics metrics = GeneratorMetrics.get();
+        FillEvent event = metrics.beginFill();
+        long startTime = metrics.startTime();
 
-                    if (boardArray[i].getValue() == 0) {
+        this.restartCount = 0;
+        this.backtrackCount = 0;
+        this.placementCount = 0;
 
-                        if (length < smallest) {
+        boolean filled = this.size >= LARGE_SIZE ? generateLargeBoard(control) : fillBoard(control);
+        metrics.endFill(event, startTime, this.size, this.restartCount, this.placementCount, this.backtrackCount,
+                filled);
 
-                            smallest = length;
-                            smallestCount = 1;
+        return filled;
 
-                        } else if (length == smallest) {
+    }
 
-                            smallestCount++;
+    /**
+     * Generates a Sudoku board below {@link #LARGE_SIZE} with the backtracking search described at
+     * {@link #generateBoard()}.
+     *
+     * @param control The control bounding the generation and receiving its progress.
+     * @return True if the board was filled, false if the control stopped the generation first.
+     */
+    private boolean fillBoard(GenerationControl control) {
 
-                        }
+        GenerationListener listener = control.getListener();
+        RandomGenerator random = this.random;
+        CandidateGrid grid = new CandidateGrid(this.geometry);
+        int[] trailCells = new int[this.fullSize * this.fullSize];
+        long[] trailOptions = new long[this.fullSize * this.fullSize];
+        long placements = 0;
 
-                    }
+        while (true) {
 
-                }
+            grid.clear();
+            boolean success = true;
+            int depth = 0;
+            int backtracks = 0;
 
-                int[] smallestIndex = new int[smallestCount];
-                int counter = 0;
+            while (!grid.isComplete()) {
 
-                for (int i = 0; i < possibleValuesArray.length; i++) {
+                int smallest = grid.getSmallestCount();
 
-                    if (possibleValuesArray[i].length == smallest && boardArray[i].getValue() == 0) {
+                if (smallest > 0) {
 
-                        smallestIndex[counter] = i;
-                        counter++;
+                    int cell = grid.getBucketCell(smallest, random.nextInt(grid.getBucketSize(smallest)));
+                    long options = grid.getCandidates(cell);
+                    int value = randomValue(options, random);
 
-                    }
+                    trailCells[depth] = cell;
+                    trailOptions[depth] = options & ~valueToBit(value);
+                    depth++;
+                    placements++;
+                    grid.place(cell, value);
+                    continue;
 
                 }
 
-                int randomSelection = random.nextInt(smallestIndex.length);
-                int index = smallestIndex[randomSelection];
+                backtracks++;
 
-                if (possibleValuesArray[index].length == 0) {
+                if (backtracks > this.backtrackLimit || control.shouldStop()) {
 
                     success = false;
                     break;
 
                 }
 
-                int smallestValue = possibleValuesArray[index][0];
-                int[] coordinates = indexToCoordinates(index);
-                this.board[coordinates[0]][coordinates[1]].setValue(smallestValue);
+                while (depth > 0) {
+
+                    depth--;
+                    int cell = trailCells[depth];
+                    grid.remove(cell);
+
+                    if (trailOptions[depth] != 0) {
+
+                        int value = randomValue(trailOptions[depth], random);
+                        trailOptions[depth] &= ~valueToBit(value);
+                        depth++;
+                        placements++;
+                        grid.place(cell, value);
+                        break;
+
+                    }
+
+                }
 
             }
 
-            long time_ns = System.nanoTime() - startTime;
-            System.out.println("+---===---===---===---===---===---===---+");
-            System.out.println("| Grid Generation Time: " + time_ns / 1000000d + "ms");
-            System.out.println("+---===---===---===---===---===---===---+");
+            this.backtrackCount += backtracks;
+            this.placementCount = placements;
+            listener.filled(depth, trailCells.length);
 
             if (success) {
 
-                break;
+                this.board = new byte[this.geometry.getCellCount()];
+                grid.copyValues(this.board);
+                this.solution = this.board.clone();
+                return true;
 
             }
 
+            if (control.shouldStop()) {
+
+                return false;
+
+            }
+
+            this.restartCount++;
+            listener.restarted(this.restartCount);
+
+        }
+
+    }
+
+    /**
+     * Solves the current puzzle with the {@link DancingLinks} solver and stores its solution if it is unique,
+     * so {@link #copySolution(byte[])} works for puzzles loaded with {@link #setGivens(byte[])} as well.
+     * The cell values are not changed.
+     *
+     * @return The number of solutions: 0, 1, or 2 for two or more.
+     */
+    public int solve() {
+
+        byte[] grid = this.board.clone();
+        int solutionCount = getSolver().solve(grid, 2);
+
+        if (solutionCount == 1) {
+
+            this.solution = grid;
+
         }
 
+        return solutionCount;
+
     }
 
     /**
      * Generates a puzzle of the specified difficulty by removing fields from the board.
+     * A pair of symmetric fields is only removed if the remaining puzzle can still be solved with naked singles.
+     * The candidates of the puzzle are kept in a {@link CandidateGrid} across all attempts, so removing a pair
+     * only updates the peers of the two fields. The check then places naked singles taken from the grid's bucket
+     * of cells with a single candidate, which serves as the work queue: every placement moves just the peers that
+     * lose their second to last candidate into it. The placements are undone afterwards.
      *
      * @param difficulty The difficulty level of the puzzle, a double value ranging from 0 to 1.
      *                   0 indicates easier puzzles, while 1 represents more challenging ones.
      */
     public void generatePuzzle(double difficulty) {
 
-        final Random random = new Random();
-        final int fieldsToRemove = ((int) (this.fullSize * this.fullSize * difficulty + 0.5)) / 2;
-        final int halfSize = (int) (this.fullSize * this.fullSize * 0.5 + 0.5);
+        generatePuzzle(difficulty, GenerationControl.unbounded(null));
+
+    }
+
+    /**
+     * Generates a puzzle like {@link #generatePuzzle(double)}, checking the given control before every removal and
+     * reporting the number of removed fields to its listener. A stopped generation keeps the fields removed so
+     * far, so the board always holds a puzzle that can be solved with naked singles. Digging is reported to the
+     * {@link GeneratorMetrics}.
+     *
+     * @param difficulty The difficulty level of the puzzle, a double value ranging from 0 to 1.
+     * @param control    The control bounding the generation and receiving its progress.
+     * @return True if digging finished, false if the control stopped it early.
+     */
+    public boolean generatePuzzle(double difficulty, GenerationControl control) {
+
+        final GeneratorMetrics metrics = GeneratorMetrics.get();
+        final DigEvent event = metrics.beginDig();
+        final long startTime = metrics.startTime();
+        final GenerationListener listener = control.getListener();
+        final RandomGenerator random = this.random;
+        final int cellCount = this.geometry.getCellCount();
+        final int fieldsToRemove = ((int) (cellCount * difficulty + 0.5)) / 2;
+        final int halfSize = (int) (cellCount * 0.5 + 0.5);
+        final CandidateGrid grid = new CandidateGrid(this.geometry);
+        final int[] trail = new int[cellCount];
         int removedCounter = 0;
+        int removedFields = 0;
+        int rejectedCounter = 0;
+        boolean finished = true;
         int[] indexArray = new int[halfSize];
+        int remaining = indexArray.length;
 
         for (int i = 0; i < indexArray.length; i++) {
 
@@ -214,391 +604,696 @@ public class Board {
 
         }
 
-        while (true) {
+        for (int i = 0; i < cellCount; i++) {
 
-            Field[][] boardCopy = copyBoard(this.board);
+            if (this.board[i] != 0) {
 
-            int index = indexArray[random.nextInt(indexArray.length)];
-            int symIndex = this.fullSize * this.fullSize - 1 - index;
+                grid.place(i, this.board[i]);
 
-            int[] coordinate = indexToCoordinates(index);
-            int[] symCoordinate = indexToCoordinates(symIndex);
+            }
 
-            boardCopy[coordinate[1]][coordinate[0]].setValue(0);
-            boardCopy[symCoordinate[1]][symCoordinate[0]].setValue(0);
+        }
 
-            Field[][] solveBoardCopy = copyBoard(boardCopy);
+        while (remaining > 0) {
 
-            boolean valid = true;
+            if (control.shouldStop()) {
 
-            outer_loop: while (true) {
+                finished = false;
+                break;
 
-                updatePossibleValues(solveBoardCopy);
+            }
 
-                for (int i = 0; i < solveBoardCopy.length; i++) {
+            int position = random.nextInt(remaining);
+            int index = indexArray[position];
+            int symIndex = cellCount - 1 - index;
+            byte value = this.board[index];
+            byte symValue = this.board[symIndex];
 
-                    for (int j = 0; j < solveBoardCopy.length; j++) {
+            remaining--;
+            indexArray[position] = indexArray[remaining];
 
-                        if (solveBoardCopy[i][j].getValue() == 0) {
+            if (value == 0 || symValue == 0) {
 
-                            int[] possibleValues = solveBoardCopy[i][j].getPossibleValues();
+                continue;
 
-                            if (possibleValues.length == 0) {
+            }
 
-                                valid = false;
-                                break outer_loop;
+            this.board[index] = 0;
+            this.board[symIndex] = 0;
+            grid.remove(index);
 
-                            } else if (possibleValues.length == 1) {
+            if (index != symIndex) {
 
-                                solveBoardCopy[i][j].setValue(possibleValues[0]);
-                                continue outer_loop;
+                grid.remove(symIndex);
 
-                            }
+            }
 
-                        }
+            if (isSolvableWithSingles(grid, trail)) {
 
-                    }
+                removedCounter++;
+                removedFields += index == symIndex ? 1 : 2;
+                listener.removed(removedFields, 2 * fieldsToRemove);
 
-                }
+                if (removedCounter >= fieldsToRemove) {
 
-                for (int i = 0; i < solveBoardCopy.length; i++) {
+                    break;
 
-                    for (int j = 0; j < solveBoardCopy.length; j++) {
+                }
 
-                        if (solveBoardCopy[i][j].getValue() == 0) {
+            } else {
 
-                            valid = false;
-                            break outer_loop;
+                this.board[index] = value;
+                this.board[symIndex] = symValue;
+                grid.place(index, value);
+                rejectedCounter++;
 
-                        }
+                if (index != symIndex) {
 
-                    }
+                    grid.place(symIndex, symValue);
 
                 }
 
-                break;
+            }
+
+        }
+
+        metrics.endDig(event, startTime, "singles", this.size, removedCounter, rejectedCounter,
+                removedCounter + rejectedCounter, 0, finished);
+
+        return finished;
+
+    }
+
+    /**
+     * Generates a puzzle of the specified difficulty by removing fields from the board, accepting a removal only
+     * if the puzzle keeps a unique solution.
+     * A removal whose fields all follow from the remaining givens by a naked or hidden single is accepted at once;
+     * the candidates for this test are kept up to date incrementally by a {@link CandidateGrid}. Every other
+     * removal is checked with a {@link DancingLinks} solution counter that stops at the second solution, so fields
+     * that are safe to remove are found even when the puzzle cannot be solved with singles alone. A check that
+     * exceeds a fixed number of search nodes per cell rejects the removal, which bounds the time a single removal
+     * may take on 25x25 and 36x36 boards.
+     * Symmetric pairs of fields are tried first; if more fields have to be removed afterwards, the remaining
+     * fields are tried one by one.
+     * Digging stops when enough fields are removed, every field has been tried, the time budget is used up or
+     * the current thread is interrupted. Only in the first two cases the result is reproducible from the seed.
+     *
+     * @param difficulty       The difficulty level of the puzzle, a double value ranging from 0 to 1.
+     *                         0 indicates easier puzzles, while 1 removes as many fields as possible.
+     * @param timeBudgetMillis The time in milliseconds digging may take before the current puzzle is kept.
+     */
+    public void generateUniquePuzzle(double difficulty, long timeBudgetMillis) {
+
+        generateUniquePuzzle(difficulty, new GenerationControl(timeBudgetMillis, null));
+
+    }
+
+    /**
+     * Generates a unique-solution puzzle like {@link #generateUniquePuzzle(double, long)}, but digs until the
+     * given control stops it instead of a time budget of its own. The control is checked before every removal
+     * and receives the number of removed fields. A stopped generation keeps the fields removed so far, which is
+     * the best puzzle found within the deadline and always has a unique solution. Digging is reported to the
+     * {@link GeneratorMetrics}.
+     *
+     * @param difficulty The difficulty level of the puzzle, a double value ranging from 0 to 1.
+     * @param control    The control bounding the generation and receiving its progress.
+     * @return True if digging finished, false if the control stopped it early.
+     */
+    public boolean generateUniquePuzzle(double difficulty, GenerationControl control) {
+
+        final GeneratorMetrics metrics = GeneratorMetrics.get();
+        final DigEvent event = metrics.beginDig();
+        final long startTime = metrics.startTime();
+        final GenerationListener listener = control.getListener();
+        final RandomGenerator random = this.random;
+        final int cellCount = this.geometry.getCellCount();
+        final int fieldsToRemove = (int) (cellCount * difficulty + 0.5);
+        final long stepLimit = (long) UNIQUENESS_STEPS_PER_CELL * cellCount;
+        final DancingLinks solver = getSolver();
+        final CandidateGrid grid = new CandidateGrid(this.geometry);
+        int removedCounter = 0;
+        int acceptedCounter = 0;
+        int rejectedCounter = 0;
+        int searchCounter = 0;
+        boolean finished = true;
+        int[] indexArray = new int[cellCount];
+
+        for (int i = 0; i < cellCount; i++) {
+
+            indexArray[i] = i;
+
+            if (this.board[i] != 0) {
+
+                grid.place(i, this.board[i]);
 
             }
 
-            if (valid) {
+        }
 
-                this.board = copyBoard(boardCopy);
-                removedCounter++;
+        for (boolean symmetric : new boolean[] {true, false}) {
 
-                if (removedCounter >= fieldsToRemove) {
+            int remaining = symmetric ? (cellCount + 1) / 2 : cellCount;
+
+            while (removedCounter < fieldsToRemove && remaining > 0) {
 
+                if (control.shouldStop()) {
+
+                    finished = false;
                     break;
 
                 }
 
-            }
+                int position = random.nextInt(remaining);
+                int index = indexArray[position];
+                int symIndex = symmetric ? cellCount - 1 - index : index;
+                byte value = this.board[index];
+                byte symValue = this.board[symIndex];
 
-            indexArray = RemoveArrayElement(indexArray, index);
+                remaining--;
+                indexArray[position] = indexArray[remaining];
+                indexArray[remaining] = index;
 
-            if (indexArray.length == 0) {
+                if (value == 0 || symValue == 0 || (index != symIndex && removedCounter + 2 > fieldsToRemove)) {
 
-                break;
+                    continue;
 
-            }
+                }
 
-        }
+                this.board[index] = 0;
+                this.board[symIndex] = 0;
+                grid.remove(index);
 
-    }
+                if (index != symIndex) {
 
-    /* HELPER FUNCTIONS */
+                    grid.remove(symIndex);
 
-    /**
-     * Creates a deep copy of a 2D array of Field objects.
-     *
-     * @param array The original 2D array of Field objects to be copied.
-     * @return A new 2D array containing copies of the Field objects from the original array.
-     */
-    private Field[][] copyBoard(Field[][] array) {
+                }
+
+                boolean forced = isForced(grid, index, value) && isForced(grid, symIndex, symValue);
 
-        Field[][] newArray = new Field[array.length][array.length];
+                if (!forced) {
 
-        for (int i = 0; i < array.length; i++) {
+                    searchCounter++;
 
-            for (int j = 0; j < array[0].length; j++) {
+                }
 
-                newArray[i][j] = new Field(array[i][j]);
+                if (forced || solver.countSolutions(this.board, 2, stepLimit) == 1) {
 
-            }
+                    removedCounter += index == symIndex ? 1 : 2;
+                    acceptedCounter++;
+                    listener.removed(removedCounter, fieldsToRemove);
 
-        }
+                } else {
 
-        return newArray;
+                    this.board[index] = value;
+                    this.board[symIndex] = symValue;
+                    grid.place(index, value);
+                    rejectedCounter++;
 
-    }
+                    if (index != symIndex) {
 
-    /**
-     * Converts a 2D array of Field objects representing the Sudoku board to a 1D
-     * array.
-     *
-     * @param array A 2D array of Field objects representing the Sudoku board.
-     * @return A 1D array containing all Field objects from the 2D array in a linear
-     * sequence.
-     */
-    private Board.Field[] to1DArray(Board.Field[][] array) {
+                        grid.place(symIndex, symValue);
 
-        int length = array.length;
-        Board.Field[] newArray = new Board.Field[length * length];
+                    }
 
-        for (int i = 0; i < length; i++) {
+                }
 
-            System.arraycopy(array[i], 0, newArray, i * length, length);
+            }
+
+            if (!finished) {
+
+                break;
+
+            }
 
         }
 
-        return newArray;
+        metrics.endDig(event, startTime, "unique", this.size, acceptedCounter, rejectedCounter, 0, searchCounter,
+                finished);
+
+        return finished;
 
     }
 
     /**
-     * Converts a linear index to 2D coordinates representing a cell's position on
-     * the Sudoku board.
+     * Generates a minimal puzzle by removing fields from the board until no remaining field can be removed without
+     * losing the unique solution.
+     * The filled fields are tried once in a random order, which already yields a minimal puzzle because a field
+     * that cannot be removed stays necessary when further fields are removed. Like in
+     * {@link #generateUniquePuzzle(double, long)}, a uniqueness check that exceeds its step limit counts as a
+     * failed removal, so on rare occasions a field is kept that a longer search would have removed.
+     * The uniqueness checks of the next fields are run in batches on the given fork/join pool, either each field
+     * on its own while most removals fail or, while most removals succeed, every prefix of the batch removed at
+     * once. In both cases the results are committed up to the first outcome that depends on an earlier one, so
+     * the puzzle is exactly the one a single thread would dig and only depends on the seed, not on the number of
+     * threads.
+     * Digging stops early if the current thread is interrupted.
      *
-     * @param index The linear index representing the position of a cell in the 1D
-     *              representation of the board.
-     * @return An array of two integers representing the row and column coordinates
-     * of the cell on the board.
+     * @param pool The pool running the uniqueness checks.
      */
-    private int[] indexToCoordinates(int index) {
-
-        int[] coordinates = new int[2];
+    public void generateMinimalPuzzle(ForkJoinPool pool) {
 
-        coordinates[0] = index / this.fullSize;
-        coordinates[1] = index % this.fullSize;
-
-        return coordinates;
+        generateMinimalPuzzle(pool, GenerationControl.unbounded(null));
 
     }
 
     /**
-     * Updates the possible values for each cell on the Sudoku board based on
-     * current cell values and constraints.
+     * Generates a minimal puzzle like {@link #generateMinimalPuzzle(ForkJoinPool)}, checking the given control
+     * between two batches and reporting the number of removed fields to its listener. A stopped generation keeps
+     * the fields removed so far, so the board holds a unique-solution puzzle that may not yet be minimal.
+     * Digging is reported to the {@link GeneratorMetrics}, counting every check handed to the pool as a search.
      *
-     * @param board a 2D array representing the Sudoku board with fields containing values
+     * @param pool    The pool running the uniqueness checks.
+     * @param control The control bounding the generation and receiving its progress.
+     * @return True if the puzzle is minimal, false if the control stopped digging early.
      */
-    private void updatePossibleValues(Field[][] board) {
+    public boolean generateMinimalPuzzle(ForkJoinPool pool, GenerationControl control) {
 
-        for (int i = 0; i < this.fullSize; i++) {
+        final GeneratorMetrics metrics = GeneratorMetrics.get();
+        final DigEvent event = metrics.beginDig();
+        final long startTime = metrics.startTime();
+        final GenerationListener listener = control.getListener();
+        final int cellCount = this.geometry.getCellCount();
+        final int batchSize = Math.max(2, pool.getParallelism() * REMOVALS_PER_THREAD);
+        final long stepLimit = (long) UNIQUENESS_STEPS_PER_CELL * cellCount;
+        final int[] order = new int[cellCount];
+        final boolean[] unique = new boolean[batchSize];
+        int count = 0;
 
-            for (int j = 0; j < this.fullSize; j++) {
+        for (int i = 0; i < cellCount; i++) {
 
-                Field field = board[i][j];
-                int[] possibleValues = new int[1];
+            if (this.board[i] == 0) {
 
-                if (field.getValue() != 0) {
+                continue;
 
-                    possibleValues[0] = field.getValue();
+            }
 
-                } else {
+            int j = this.random.nextInt(count + 1);
+            order[count] = order[j];
+            order[j] = i;
+            count++;
 
-                    possibleValues = new int[this.fullSize];
+        }
 
-                    for (int k = 0; k < possibleValues.length; k++) {
+        int next = 0;
+        int removedFields = 0;
+        int rejectedCounter = 0;
+        int searchCounter = 0;
+        boolean finished = true;
+        boolean cumulative = true;
 
-                        possibleValues[k] = k + 1;
+        while (next < count) {
 
-                    }
+            if (control.shouldStop()) {
 
-                    for (Field k : board[i]) {
+                finished = false;
+                break;
 
-                        int value = k.getValue();
+            }
 
-                        if (value != 0) {
+            int length = Math.min(batchSize, count - next);
+            pool.invoke(new RemovalCheck(this.size, this.board, order, next, cumulative, stepLimit, unique,
+                    new AtomicInteger(length), 0, length));
 
-                            if (possibleValues.length < 1) {
+            int decided = 0;
+            searchCounter += length;
 
-                                possibleValues = new int[0];
-                                break;
+            while (decided < length && unique[decided] == cumulative) {
 
-                            }
+                decided++;
 
-                            possibleValues = RemoveArrayElement(possibleValues, value);
+            }
 
-                        }
+            if (cumulative) {
 
-                    }
+                for (int i = 0; i < decided; i++) {
 
-                    for (int k = 0; k < this.fullSize; k++) {
+                    this.board[order[next + i]] = 0;
 
-                        int value = board[k][j].getValue();
+                }
 
-                        if (value != 0) {
+                removedFields += decided;
+                rejectedCounter += decided < length ? 1 : 0;
+                next += Math.min(decided + 1, length);
 
-                            if (possibleValues.length < 1) {
+            } else if (decided < length) {
 
-                                possibleValues = new int[0];
-                                break;
+                this.board[order[next + decided]] = 0;
+                removedFields++;
+                rejectedCounter += decided;
+                next += decided + 1;
 
-                            }
+            } else {
 
-                            possibleValues = RemoveArrayElement(possibleValues, value);
+                rejectedCounter += length;
+                next += length;
 
-                        }
+            }
 
-                    }
+            listener.removed(removedFields, cellCount);
 
-                    int x = j - (j % this.size);
-                    int y = i - (i % this.size);
+            boolean mostlyRemoved = cumulative ? 2 * decided >= length : 2 * decided < length;
+            cumulative = mostlyRemoved;
 
-                    for (int k = 0; k < this.size; k++) {
+        }
 
-                        for (int l = 0; l < this.size; l++) {
+        metrics.endDig(event, startTime, "minimal", this.size, removedFields, rejectedCounter, 0, searchCounter,
+                finished);
 
-                            int value = board[k + y][l + x].getValue();
+        return finished;
 
-                            if (value != 0) {
+    }
 
-                                if (possibleValues.length < 1) {
+    /* HELPER FUNCTIONS */
 
-                                    possibleValues = new int[0];
-                                    break;
+    /**
+     * Fills the board with randomized exact cover searches, restarting every attempt that exceeds its step limit.
+     * The control is checked between attempts, so a single attempt bounds the reaction time.
+     *
+     * @param control The control bounding the generation and receiving its progress.
+     * @return True if the board was filled, false if the control stopped the generation first.
+     */
+    private boolean generateLargeBoard(GenerationControl control) {
 
-                                }
+        GenerationListener listener = control.getListener();
+        DancingLinks solver = getSolver();
+        int cellCount = this.geometry.getCellCount();
+        byte[] grid = new byte[cellCount];
 
-                                possibleValues = RemoveArrayElement(possibleValues, value);
+        while (!solver.solveRandom(grid, this.random, (long) FILL_STEPS_PER_CELL * cellCount)) {
 
-                            }
+            if (control.shouldStop()) {
 
-                        }
+                return false;
 
-                    }
+            }
 
-                }
+            this.restartCount++;
+            listener.restarted(this.restartCount);
 
-                board[i][j].setPossibleValues(possibleValues);
+        }
 
-            }
+        listener.filled(cellCount, cellCount);
+        this.placementCount = cellCount;
+        this.board = grid;
+        this.solution = grid.clone();
+
+        return true;
+
+    }
+
+    /**
+     * Retrieves the exact cover solver for the current size, building its matrix on first use.
+     *
+     * @return The solver shared by all searches of this board.
+     */
+    private DancingLinks getSolver() {
+
+        if (this.solver == null) {
+
+            this.solver = new DancingLinks(this.size);
 
         }
 
+        return this.solver;
+
     }
 
     /**
-     * Removes a specified element from an integer array and returns a new array
-     * without that element.
+     * Checks whether the value of an emptied cell follows from the givens by a naked or a hidden single,
+     * in which case every solution of the puzzle holds the value in the cell.
      *
-     * @param array  The input integer array from which the element needs to be
-     *               removed.
-     * @param number The element to be removed from the array.
-     * @return An updated array without the specified element. If the element
-     * doesn't exist, the original array is returned.
+     * @param grid  The candidates of the puzzle without the cell.
+     * @param cell  The linear index of the emptied cell.
+     * @param value The value the cell held.
+     * @return True if the cell is forced to the value, false if it is not known.
      */
-    private int[] RemoveArrayElement(int[] array, int number) {
+    private boolean isForced(CandidateGrid grid, int cell, int value) {
 
-        int[] newArray = new int[array.length - 1];
-        int counter = 0;
+        long bit = valueToBit(value);
 
-        try {
+        if (grid.getCandidates(cell) == bit) {
 
-            for (int i = 0; i < array.length; i++) {
+            return true;
 
-                if (array[i] != number) {
+        }
 
-                    newArray[counter] = array[i];
-                    counter++;
+        int row = this.geometry.row(cell);
+        int column = this.geometry.column(cell);
+        int boxRow = row / this.size * this.size;
+        int boxColumn = column / this.size * this.size;
+        boolean rowHidden = true;
+        boolean columnHidden = true;
+        boolean boxHidden = true;
 
-                }
+        for (int i = 0; i < this.fullSize; i++) {
 
-            }
+            rowHidden &= !canHold(grid, row * this.fullSize + i, cell, bit);
+            columnHidden &= !canHold(grid, i * this.fullSize + column, cell, bit);
+            boxHidden &= !canHold(grid, (boxRow + i / this.size) * this.fullSize + boxColumn + i % this.size,
+                    cell, bit);
+
+        }
+
+        return rowHidden || columnHidden || boxHidden;
+
+    }
+
+    /**
+     * Checks whether a cell other than the examined one is empty and may hold a value.
+     *
+     * @param grid  The candidates of the puzzle.
+     * @param other The linear index of the cell to check.
+     * @param cell  The linear index of the examined cell, which is skipped.
+     * @param bit   The bit of the value.
+     * @return True if the other cell is a further place for the value, false otherwise.
+     */
+    private static boolean canHold(CandidateGrid grid, int other, int cell, long bit) {
+
+        return other != cell && grid.getValue(other) == 0 && (grid.getCandidates(other) & bit) != 0;
+
+    }
+
+    /**
+     * Checks whether a puzzle can be solved with naked singles alone by placing them until none is left.
+     * The grid is restored before returning.
+     *
+     * @param grid  The candidates of the puzzle.
+     * @param trail The array recording the placed cells, with room for every cell.
+     * @return True if the naked singles fill the board, false otherwise.
+     */
+    private static boolean isSolvableWithSingles(CandidateGrid grid, int[] trail) {
+
+        int depth = 0;
+
+        while (grid.getBucketSize(1) > 0) {
+
+            int cell = grid.getBucketCell(1, 0);
+            grid.place(cell, lowestValue(grid.getCandidates(cell)));
+            trail[depth] = cell;
+            depth++;
+
+        }
+
+        boolean solved = grid.isComplete();
+
+        while (depth > 0) {
+
+            depth--;
+            grid.remove(trail[depth]);
+
+        }
+
+        return solved;
+
+    }
+
+    /**
+     * Converts a cell value to its bit in a candidate mask.
+     * The value 1 is stored in bit 0, the value 2 in bit 1 and so on.
+     *
+     * @param value The cell value, ranging from 1 to fullSize.
+     * @return A bitmask with only the bit of the given value set.
+     */
+    private static long valueToBit(int value) {
+
+        return 1L << (value - 1);
+
+    }
+
+    /**
+     * Picks a random value out of a candidate mask.
+     *
+     * @param mask   A non-empty candidate mask.
+     * @param random The random number generator used for the selection.
+     * @return One of the values whose bit is set in the mask, each with equal probability.
+     */
+    private static int randomValue(long mask, RandomGenerator random) {
 
-        } catch (IndexOutOfBoundsException e) {
+        for (int skip = random.nextInt(Long.bitCount(mask)); skip > 0; skip--) {
 
-            return array;
+            mask &= mask - 1;
 
         }
 
-        return newArray;
+        return lowestValue(mask);
 
     }
 
     /**
-     * Represents a single cell in a Sudoku board, storing its value and possible values.
-     * Used for managing individual cells within the board.
+     * Extracts the smallest value contained in a candidate mask.
+     *
+     * @param mask A non-empty candidate mask.
+     * @return The smallest value whose bit is set in the mask.
      */
-    private static class Field {
+    private static int lowestValue(long mask) {
+
+        return Long.numberOfTrailingZeros(mask) + 1;
+
+    }
+
+    /**
+     * Checks a batch of field removals of {@link #generateMinimalPuzzle} for uniqueness, splitting the batch until
+     * every task checks a single removal.
+     */
+    private static final class RemovalCheck extends RecursiveAction {
 
         /**
-         * The value stored in the cell.
+         * The version of the serialized form, which fork/join tasks inherit but never use.
          */
-        private int value;
+        private static final long serialVersionUID = 1L;
 
         /**
-         * An array containing possible values for the cell.
+         * The size of the Sudoku grid (number of rows/columns in a subgrid).
          */
-        private int[] possibleValues;
+        private final int size;
 
         /**
-         * Constructs a Field object with an initial value.
-         *
-         * @param value The initial value assigned to the cell.
+         * The current puzzle, which the checks only read.
          */
-        public Field(int value) {
+        private final byte[] board;
 
-            setValue(value);
-            setPossibleValues(new int[0]);
+        /**
+         * The order in which the fields are tried.
+         */
+        private final int[] order;
 
-        }
+        /**
+         * The position in the order of the first field of the batch.
+         */
+        private final int first;
 
         /**
-         * Constructs a new Field object by copying the value and possible values from another Field object.
-         *
-         * @param other The Field object from which the values are copied to create a new Field instance.
+         * True to remove all fields of the batch up to the checked one, false to remove only the checked one.
          */
-        public Field(Field other) {
+        private final boolean cumulative;
 
-            setValue(other.value);
-            setPossibleValues(other.possibleValues);
+        /**
+         * The number of search nodes a single check may visit before the removal is rejected.
+         */
+        private final long stepLimit;
 
-        }
+        /**
+         * The result of every check of the batch, true if the puzzle stays unique.
+         */
+        private final boolean[] unique;
 
         /**
-         * Retrieves the value of the cell.
-         *
-         * @return The value stored in the cell.
+         * The first check of the batch whose result ends the round; later checks are skipped.
          */
-        public int getValue() {
+        private final AtomicInteger decisive;
 
-            return this.value;
+        /**
+         * The first check of this task, relative to the batch.
+         */
+        private final int from;
 
-        }
+        /**
+         * The end of the checks of this task, exclusive.
+         */
+        private final int to;
 
         /**
-         * Sets the value of the cell.
+         * Constructs a task checking part of a batch.
          *
-         * @param value The value to set in the cell.
+         * @param size       The size of the Sudoku grid (number of rows/columns in a subgrid).
+         * @param board      The current puzzle.
+         * @param order      The order in which the fields are tried.
+         * @param first      The position in the order of the first field of the batch.
+         * @param cumulative True to remove all fields of the batch up to the checked one.
+         * @param stepLimit  The number of search nodes a single check may visit.
+         * @param unique     The array receiving the results.
+         * @param decisive   The first check known to end the round, shared by all tasks of the batch.
+         * @param from       The first check of this task, relative to the batch.
+         * @param to         The end of the checks of this task, exclusive.
          */
-        public void setValue(int value) {
-
-            this.value = value;
+        RemovalCheck(int size, byte[] board, int[] order, int first, boolean cumulative, long stepLimit,
+                     boolean[] unique, AtomicInteger decisive, int from, int to) {
+
+            this.size = size;
+            this.board = board;
+            this.order = order;
+            this.first = first;
+            this.cumulative = cumulative;
+            this.stepLimit = stepLimit;
+            this.unique = unique;
+            this.decisive = decisive;
+            this.from = from;
+            this.to = to;
 
         }
 
         /**
-         * Retrieves the possible values for the cell.
-         *
-         * @return An array containing possible values for the cell.
+         * Runs the checks of this task, forking half of them if there is more than one. A check behind the first
+         * result that ends the round is skipped, as it would have to be repeated on the changed puzzle anyway.
          */
-        public int[] getPossibleValues() {
+        @Override
+        protected void compute() {
 
-            return this.possibleValues;
+            if (this.to - this.from > 1) {
 
-        }
+                int middle = (this.from + this.to) >>> 1;
+                invokeAll(new RemovalCheck(this.size, this.board, this.order, this.first, this.cumulative,
+                                this.stepLimit, this.unique, this.decisive, this.from, middle),
+                        new RemovalCheck(this.size, this.board, this.order, this.first, this.cumulative,
+                                this.stepLimit, this.unique, this.decisive, middle, this.to));
+                return;
 
-        /**
-         * Sets the possible values for the cell.
-         *
-         * @param possibleValues An array containing possible values for the cell.
-         */
-        public void setPossibleValues(int[] possibleValues) {
+            }
+
+            if (this.from > this.decisive.get()) {
+
+                return;
+
+            }
+
+            byte[] grid = this.board.clone();
 
-            this.possibleValues = possibleValues;
+            for (int i = this.cumulative ? 0 : this.from; i <= this.from; i++) {
+
+                grid[this.order[this.first + i]] = 0;
+
+            }
+
+            DancingLinks[] solvers = WORKER_SOLVERS.get();
+
+            if (solvers[this.size] == null) {
+
+                solvers[this.size] = new DancingLinks(this.size);
+
+            }
+
+            boolean result = solvers[this.size].countSolutions(grid, 2, this.stepLimit) == 1;
+            this.unique[this.from] = result;
+
+            if (result != this.cumulative) {
+
+                this.decisive.accumulateAndGet(this.from, Math::min);
+
+            }
 
         }
 
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,218 @@
+package main.java.com.mms.board;
+
+/**
+ * Describes the layout of a Sudoku board of a given size.
+ * Cells are addressed by a linear index (row * fullSize + column), and the row, column and subgrid of every cell
+ * as well as the list of its peers are precomputed, so lookups during generation are plain array reads.
+ * Instances are immutable and shared between all boards of the same size.
+ */
+public final class BoardGeometry {
+
+    /**
+     * Holds the already created geometries, indexed by subgrid size.
+     */
+    private static final BoardGeometry[] GEOMETRIES = new BoardGeometry[Board.MAX_SIZE + 1];
+
+    /**
+     * Determines the number of rows/columns in a single subgrid.
+     */
+    private final int size;
+
+    /**
+     * Represents the full size of the Sudoku board (size * size).
+     */
+    private final int fullSize;
+
+    /**
+     * The number of cells on the board (fullSize * fullSize).
+     */
+    private final int cellCount;
+
+    /**
+     * The row index of every cell.
+     */
+    private final int[] rows;
+
+    /**
+     * The column index of every cell.
+     */
+    private final int[] columns;
+
+    /**
+     * The subgrid index of every cell, subgrids being numbered row by row.
+     */
+    private final int[] boxes;
+
+    /**
+     * The cells sharing a row, column or subgrid with every cell, each peer listed exactly once.
+     */
+    private final int[][] peers;
+
+    /**
+     * Constructs the geometry for the given size and precomputes all lookup tables.
+     *
+     * @param size The size of the Sudoku grid (number of rows/columns in a subgrid).
+     */
+    private BoardGeometry(int size) {
+
+        this.size = size;
+        this.fullSize = size * size;
+        this.cellCount = this.fullSize * this.fullSize;
+        this.rows = new int[this.cellCount];
+        this.columns = new int[this.cellCount];
+        this.boxes = new int[this.cellCount];
+        this.peers = new int[this.cellCount][];
+
+        for (int cell = 0; cell < this.cellCount; cell++) {
+
+            this.rows[cell] = cell / this.fullSize;
+            this.columns[cell] = cell % this.fullSize;
+            this.boxes[cell] = (this.rows[cell] / size) * size + this.columns[cell] / size;
+
+        }
+
+        int peerCount = 3 * (this.fullSize - 1) - 2 * (size - 1);
+
+        for (int cell = 0; cell < this.cellCount; cell++) {
+
+            int[] cellPeers = new int[peerCount];
+            int counter = 0;
+
+            for (int other = 0; other < this.cellCount; other++) {
+
+                if (other != cell && (this.rows[other] == this.rows[cell]
+                        || this.columns[other] == this.columns[cell]
+                        || this.boxes[other] == this.boxes[cell])) {
+
+                    cellPeers[counter] = other;
+                    counter++;
+
+                }
+
+            }
+
+            this.peers[cell] = cellPeers;
+
+        }
+
+    }
+
+    /**
+     * Retrieves the shared geometry for the given size, creating it on first use.
+     *
+     * @param size The size of the Sudoku grid (number of rows/columns in a subgrid), from 1 to {@link Board#MAX_SIZE}.
+     * @return The geometry describing a board of the given size.
+     */
+    public static synchronized BoardGeometry of(int size) {
+
+        if (size < 1 || size > Board.MAX_SIZE) {
+
+            throw new IllegalArgumentException("Unsupported size: " + size);
+
+        }
+
+        if (GEOMETRIES[size] == null) {
+
+            GEOMETRIES[size] = new BoardGeometry(size);
+
+        }
+
+        return GEOMETRIES[size];
+
+    }
+
+    /* GETTER */
+
+    /**
+     * Retrieves the number of rows/columns in a single subgrid.
+     *
+     * @return The subgrid size.
+     */
+    public int getSize() {
+
+        return this.size;
+
+    }
+
+    /**
+     * Retrieves the number of rows/columns of the whole board.
+     *
+     * @return The full size (size * size).
+     */
+    public int getFullSize() {
+
+        return this.fullSize;
+
+    }
+
+    /**
+     * Retrieves the number of cells on the board.
+     *
+     * @return The cell count (fullSize * fullSize).
+     */
+    public int getCellCount() {
+
+        return this.cellCount;
+
+    }
+
+    /**
+     * Retrieves the row of a cell.
+     *
+     * @param cell The linear index of the cell.
+     * @return The row index of the cell.
+     */
+    public int row(int cell) {
+
+        return this.rows[cell];
+
+    }
+
+    /**
+     * Retrieves the column of a cell.
+     *
+     * @param cell The linear index of the cell.
+     * @return The column index of the cell.
+     */
+    public int column(int cell) {
+
+        return this.columns[cell];
+
+    }
+
+    /**
+     * Retrieves the subgrid of a cell.
+     *
+     * @param cell The linear index of the cell.
+     * @return The index of the subgrid containing the cell.
+     */
+    public int box(int cell) {
+
+        return this.boxes[cell];
+
+    }
+
+    /**
+     * Retrieves the peers of a cell. The returned array is shared and must not be modified.
+     *
+     * @param cell The linear index of the cell.
+     * @return The cells sharing a row, column or subgrid with the given cell.
+     */
+    public int[] peers(int cell) {
+
+        return this.peers[cell];
+
+    }
+
+    /**
+     * Creates a bitmask with one bit set for every value that can be placed on the board.
+     *
+     * @return A bitmask where the bits 0 to fullSize - 1 are set.
+     */
+    public long fullMask() {
+
+        return this.fullSize == Long.SIZE ? -1L : (1L << this.fullSize) - 1;
+
+    }
+
+}
@@ -0,0 +1,350 @@
+package main.java.com.mms.board;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the candidates of a Sudoku board up to date while values are placed and removed.
+ * The used values of every row, column and subgrid are stored as bitmasks, so the candidates of a cell are the
+ * complement of three masks. Empty cells are kept in buckets by their number of candidates, which makes finding a
+ * cell with the minimum remaining values a lookup instead of a scan over the whole board.
+ * Placing or removing a value only touches the peers of the affected cell.
+ */
+public class CandidateGrid {
+
+    /**
+     * The layout of the board this grid belongs to.
+     */
+    private final BoardGeometry geometry;
+
+    /**
+     * A bitmask with one bit set for every value that can be placed on the board.
+     */
+    private final long fullMask;
+
+    /**
+     * The value of every cell, zero for empty cells.
+     */
+    private final byte[] values;
+
+    /**
+     * The values already used in every row.
+     */
+    private final long[] rowMasks;
+
+    /**
+     * The values already used in every column.
+     */
+    private final long[] columnMasks;
+
+    /**
+     * The values already used in every subgrid.
+     */
+    private final long[] boxMasks;
+
+    /**
+     * The number of candidates of every empty cell.
+     */
+    private final int[] counts;
+
+    /**
+     * The empty cells grouped by their number of candidates.
+     */
+    private final int[][] buckets;
+
+    /**
+     * The number of cells currently stored in every bucket.
+     */
+    private final int[] bucketSizes;
+
+    /**
+     * The position of every empty cell within its bucket.
+     */
+    private final int[] bucketPositions;
+
+    /**
+     * The number of cells holding a value.
+     */
+    private int filledCount;
+
+    /**
+     * Constructs an empty candidate grid for a board with the given geometry.
+     *
+     * @param geometry The layout of the board.
+     */
+    public CandidateGrid(BoardGeometry geometry) {
+
+        int fullSize = geometry.getFullSize();
+        int cellCount = geometry.getCellCount();
+
+        this.geometry = geometry;
+        this.fullMask = geometry.fullMask();
+        this.values = new byte[cellCount];
+        this.rowMasks = new long[fullSize];
+        this.columnMasks = new long[fullSize];
+        this.boxMasks = new long[fullSize];
+        this.counts = new int[cellCount];
+        this.buckets = new int[fullSize + 1][cellCount];
+        this.bucketSizes = new int[fullSize + 1];
+        this.bucketPositions = new int[cellCount];
+
+        clear();
+
+    }
+
+    /* GETTER */
+
+    /**
+     * Retrieves the layout of the board this grid belongs to.
+     *
+     * @return The board geometry.
+     */
+    public BoardGeometry getGeometry() {
+
+        return this.geometry;
+
+    }
+
+    /**
+     * Retrieves the value of a cell.
+     *
+     * @param cell The linear index of the cell.
+     * @return The value of the cell, zero if it is empty.
+     */
+    public int getValue(int cell) {
+
+        return this.values[cell];
+
+    }
+
+    /**
+     * Retrieves the candidates of an empty cell.
+     *
+     * @param cell The linear index of the cell.
+     * @return A bitmask of the values that can be placed in the cell, bit 0 representing the value 1.
+     */
+    public long getCandidates(int cell) {
+
+        return ~(this.rowMasks[this.geometry.row(cell)]
+                | this.columnMasks[this.geometry.column(cell)]
+                | this.boxMasks[this.geometry.box(cell)]) & this.fullMask;
+
+    }
+
+    /**
+     * Copies the values of all cells into the given array.
+     *
+     * @param target The array receiving the values in row-major order, at least as long as the cell count.
+     */
+    public void copyValues(byte[] target) {
+
+        System.arraycopy(this.values, 0, target, 0, this.values.length);
+
+    }
+
+    /**
+     * Retrieves the number of candidates of an empty cell.
+     *
+     * @param cell The linear index of the cell.
+     * @return The number of values that can be placed in the cell.
+     */
+    public int getCandidateCount(int cell) {
+
+        return this.counts[cell];
+
+    }
+
+    /**
+     * Retrieves the number of cells holding a value.
+     *
+     * @return The number of filled cells.
+     */
+    public int getFilledCount() {
+
+        return this.filledCount;
+
+    }
+
+    /**
+     * Checks whether every cell holds a value.
+     *
+     * @return True if the board is completely filled, false otherwise.
+     */
+    public boolean isComplete() {
+
+        return this.filledCount == this.values.length;
+
+    }
+
+    /**
+     * Finds the smallest number of candidates of any empty cell.
+     *
+     * @return The minimum remaining values of all empty cells, or -1 if the board is complete.
+     */
+    public int getSmallestCount() {
+
+        for (int count = 0; count < this.bucketSizes.length; count++) {
+
+            if (this.bucketSizes[count] > 0) {
+
+                return count;
+
+            }
+
+        }
+
+        return -1;
+
+    }
+
+    /**
+     * Retrieves the number of empty cells with the given number of candidates.
+     *
+     * @param count The number of candidates.
+     * @return The number of empty cells having exactly that many candidates.
+     */
+    public int getBucketSize(int count) {
+
+        return this.bucketSizes[count];
+
+    }
+
+    /**
+     * Retrieves an empty cell with the given number of candidates.
+     *
+     * @param count The number of candidates.
+     * @param index The position within the bucket, from 0 to {@link #getBucketSize(int)} - 1.
+     * @return The linear index of the cell.
+     */
+    public int getBucketCell(int count, int index) {
+
+        return this.buckets[count][index];
+
+    }
+
+    /* GENERAL FUNCTIONS */
+
+    /**
+     * Removes all values, leaving every cell with the full set of candidates.
+     */
+    public void clear() {
+
+        int fullSize = this.geometry.getFullSize();
+
+        Arrays.fill(this.values, (byte) 0);
+        Arrays.fill(this.rowMasks, 0);
+        Arrays.fill(this.columnMasks, 0);
+        Arrays.fill(this.boxMasks, 0);
+        Arrays.fill(this.bucketSizes, 0);
+        this.filledCount = 0;
+
+        for (int cell = 0; cell < this.values.length; cell++) {
+
+            this.counts[cell] = fullSize;
+            addToBucket(cell);
+
+        }
+
+    }
+
+    /**
+     * Places a value in an empty cell and removes it from the candidates of the cell's peers.
+     * The value must be one of the cell's candidates.
+     *
+     * @param cell  The linear index of the cell.
+     * @param value The value to place, ranging from 1 to fullSize.
+     */
+    public void place(int cell, int value) {
+
+        long bit = 1L << (value - 1);
+
+        removeFromBucket(cell);
+
+        for (int peer : this.geometry.peers(cell)) {
+
+            if (this.values[peer] == 0 && (getCandidates(peer) & bit) != 0) {
+
+                removeFromBucket(peer);
+                this.counts[peer]--;
+                addToBucket(peer);
+
+            }
+
+        }
+
+        this.rowMasks[this.geometry.row(cell)] |= bit;
+        this.columnMasks[this.geometry.column(cell)] |= bit;
+        this.boxMasks[this.geometry.box(cell)] |= bit;
+        this.values[cell] = (byte) value;
+        this.filledCount++;
+
+    }
+
+    /**
+     * Removes the value of a filled cell and gives it back to the candidates of the cell's peers.
+     *
+     * @param cell The linear index of the cell.
+     */
+    public void remove(int cell) {
+
+        long bit = 1L << (this.values[cell] - 1);
+
+        this.rowMasks[this.geometry.row(cell)] &= ~bit;
+        this.columnMasks[this.geometry.column(cell)] &= ~bit;
+        this.boxMasks[this.geometry.box(cell)] &= ~bit;
+        this.values[cell] = 0;
+        this.filledCount--;
+
+        for (int peer : this.geometry.peers(cell)) {
+
+            if (this.values[peer] == 0 && (getCandidates(peer) & bit) != 0) {
+
+                removeFromBucket(peer);
+                this.counts[peer]++;
+                addToBucket(peer);
+
+            }
+
+        }
+
+        this.counts[cell] = Long.bitCount(getCandidates(cell));
+        addToBucket(cell);
+
+    }
+
+    /* HELPER FUNCTIONS */
+
+    /**
+     * Appends an empty cell to the bucket matching its candidate count.
+     *
+     * @param cell The linear index of the cell.
+     */
+    private void addToBucket(int cell) {
+
+        int count = this.counts[cell];
+        int position = this.bucketSizes[count];
+
+        this.buckets[count][position] = cell;
+        this.bucketPositions[cell] = position;
+        this.bucketSizes[count] = position + 1;
+
+    }
+
+    /**
+     * Removes a cell from its bucket by moving the last cell of the bucket into its place.
+     *
+     * @param cell The linear index of the cell.
+     */
+    private void removeFromBucket(int cell) {
+
+        int count = this.counts[cell];
+        int last = this.bucketSizes[count] - 1;
+        int position = this.bucketPositions[cell];
+        int lastCell = this.buckets[count][last];
+
+        this.buckets[count][position] = lastCell;
+        this.bucketPositions[lastCell] = position;
+        this.bucketSizes[count] = last;
+
+    }
+
+}
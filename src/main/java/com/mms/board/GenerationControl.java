@@ -0,0 +1,129 @@
+package main.java.com.mms.board;
+
+/**
+ * Bounds a puzzle generation by a deadline and a cancellation flag and passes its progress to a
+ * {@link GenerationListener}.
+ * The {@link Board} checks the control between two steps of its search and stops once the deadline has passed,
+ * {@link #cancel()} was called or the generating thread was interrupted. Digging stopped this way keeps the puzzle
+ * dug so far, which always has a unique solution, so a caller gets the best puzzle reachable within its deadline.
+ * A control may be cancelled from any thread.
+ */
+public final class GenerationControl {
+
+    /**
+     * The value of {@link System#nanoTime()} at which the generation has to stop.
+     */
+    private final long deadline;
+
+    /**
+     * Indicates whether the control has a deadline at all.
+     */
+    private final boolean bounded;
+
+    /**
+     * The listener receiving the progress.
+     */
+    private final GenerationListener listener;
+
+    /**
+     * Indicates whether the generation was cancelled.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Constructs a control whose deadline lies the given time from now.
+     *
+     * @param timeBudgetMillis The time in milliseconds the generation may take.
+     * @param listener         The listener receiving the progress, or null to ignore it.
+     */
+    public GenerationControl(long timeBudgetMillis, GenerationListener listener) {
+
+        this(System.nanoTime() + timeBudgetMillis * 1000000L, true, listener);
+
+    }
+
+    /**
+     * Constructs a control.
+     *
+     * @param deadline The value of {@link System#nanoTime()} at which the generation has to stop.
+     * @param bounded  True if the deadline applies, false if the generation may take any time.
+     * @param listener The listener receiving the progress, or null to ignore it.
+     */
+    private GenerationControl(long deadline, boolean bounded, GenerationListener listener) {
+
+        this.deadline = deadline;
+        this.bounded = bounded;
+        this.listener = listener == null ? GenerationListener.NONE : listener;
+
+    }
+
+    /**
+     * Creates a control without deadline, which only stops if it is cancelled or the thread is interrupted.
+     *
+     * @param listener The listener receiving the progress, or null to ignore it.
+     * @return The new control.
+     */
+    public static GenerationControl unbounded(GenerationListener listener) {
+
+        return new GenerationControl(0, false, listener);
+
+    }
+
+    /* GETTER */
+
+    /**
+     * Retrieves the listener receiving the progress.
+     *
+     * @return The listener, never null.
+     */
+    public GenerationListener getListener() {
+
+        return this.listener;
+
+    }
+
+    /**
+     * Checks whether the generation was cancelled.
+     *
+     * @return True if {@link #cancel()} was called, false otherwise.
+     */
+    public boolean isCancelled() {
+
+        return this.cancelled;
+
+    }
+
+    /**
+     * Checks whether the deadline has passed.
+     *
+     * @return True if the control has a deadline and it has passed, false otherwise.
+     */
+    public boolean isExpired() {
+
+        return this.bounded && System.nanoTime() - this.deadline >= 0;
+
+    }
+
+    /* GENERAL FUNCTIONS */
+
+    /**
+     * Asks the generation to stop at its next check.
+     */
+    public void cancel() {
+
+        this.cancelled = true;
+
+    }
+
+    /**
+     * Checks whether the generation has to stop.
+     *
+     * @return True if the generation was cancelled, its deadline has passed or the current thread is interrupted.
+     */
+    public boolean shouldStop() {
+
+        return this.cancelled || isExpired() || Thread.currentThread().isInterrupted();
+
+    }
+
+}
@@ -0,0 +1,46 @@
+package main.java.com.mms.board;
+
+/**
+ * Receives the progress of a puzzle generation from the {@link Board}.
+ * The methods are called on the generating thread and should return quickly; all of them do nothing by default.
+ */
+public interface GenerationListener {
+
+    /**
+     * A listener ignoring all progress.
+     */
+    GenerationListener NONE = new GenerationListener() {
+
+    };
+
+    /**
+     * Called when filling the board gave up an attempt and starts over.
+     *
+     * @param restartCount The number of restarts so far.
+     */
+    default void restarted(int restartCount) {
+
+    }
+
+    /**
+     * Called when an attempt to fill the board ends, successfully or not.
+     *
+     * @param filledCells The number of cells filled when the attempt ended.
+     * @param cellCount   The number of cells of the board.
+     */
+    default void filled(int filledCells, int cellCount) {
+
+    }
+
+    /**
+     * Called whenever fields were removed from the puzzle.
+     *
+     * @param removedFields  The number of fields removed so far.
+     * @param fieldsToRemove The number of fields digging aims for, the number of cells if digging continues until
+     *                       the puzzle is minimal.
+     */
+    default void removed(int removedFields, int fieldsToRemove) {
+
+    }
+
+}
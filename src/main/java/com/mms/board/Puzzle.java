@@ -0,0 +1,194 @@
+package main.java.com.mms.board;
+
+import java.util.Arrays;
+
+/**
+ * An immutable Sudoku puzzle together with its solution.
+ * Unlike {@link Board}, which is filled again in place for every new game, a puzzle never changes once created,
+ * so it can be passed between threads and collected from streams freely.
+ */
+public final class Puzzle {
+
+    /**
+     * Determines the number of rows/columns in a single subgrid.
+     */
+    private final int size;
+
+    /**
+     * The given values in row-major order, zero marking an empty cell.
+     */
+    private final byte[] givens;
+
+    /**
+     * The solution in row-major order.
+     */
+    private final byte[] solution;
+
+    /**
+     * The number of given cells.
+     */
+    private final int clueCount;
+
+    /**
+     * Constructs a puzzle from copies of the given arrays.
+     *
+     * @param size     The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @param givens   The given values in row-major order, zero marking an empty cell.
+     * @param solution The solution in row-major order.
+     */
+    public Puzzle(int size, byte[] givens, byte[] solution) {
+
+        int cellCount = BoardGeometry.of(size).getCellCount();
+
+        if (givens.length != cellCount || solution.length != cellCount) {
+
+            throw new IllegalArgumentException("Arrays do not match the size " + size);
+
+        }
+
+        int clues = 0;
+
+        for (byte value : givens) {
+
+            if (value != 0) {
+
+                clues++;
+
+            }
+
+        }
+
+        this.size = size;
+        this.givens = givens.clone();
+        this.solution = solution.clone();
+        this.clueCount = clues;
+
+    }
+
+    /**
+     * Creates a puzzle from the current puzzle and solution of a board.
+     *
+     * @param board A board holding a generated puzzle.
+     * @return A puzzle independent of later changes to the board.
+     */
+    public static Puzzle of(Board board) {
+
+        if (board.getSolution() == null) {
+
+            throw new IllegalStateException("The solution of this board is unknown");
+
+        }
+
+        return new Puzzle(board.getSize(), board.getValues(), board.getSolution());
+
+    }
+
+    /* GETTER */
+
+    /**
+     * Retrieves the number of rows/columns in a single subgrid.
+     *
+     * @return The subgrid size.
+     */
+    public int getSize() {
+
+        return this.size;
+
+    }
+
+    /**
+     * Retrieves the given value of a cell.
+     *
+     * @param cell The linear index of the cell.
+     * @return The given value, zero if the cell is empty.
+     */
+    public int getValue(int cell) {
+
+        return this.givens[cell];
+
+    }
+
+    /**
+     * Retrieves the solution value of a cell.
+     *
+     * @param cell The linear index of the cell.
+     * @return The value of the cell in the solution.
+     */
+    public int getSolutionValue(int cell) {
+
+        return this.solution[cell];
+
+    }
+
+    /**
+     * Retrieves the number of given cells.
+     *
+     * @return The clue count.
+     */
+    public int getClueCount() {
+
+        return this.clueCount;
+
+    }
+
+    /**
+     * Copies the given values into an array.
+     *
+     * @param target The array receiving the givens in row-major order, zero marking an empty cell.
+     */
+    public void copyGivens(byte[] target) {
+
+        System.arraycopy(this.givens, 0, target, 0, this.givens.length);
+
+    }
+
+    /**
+     * Copies the solution into an array.
+     *
+     * @param target The array receiving the solution in row-major order.
+     */
+    public void copySolution(byte[] target) {
+
+        System.arraycopy(this.solution, 0, target, 0, this.solution.length);
+
+    }
+
+    /**
+     * Creates a board holding this puzzle, for example to show it in the game window.
+     *
+     * @return A new board with the givens of this puzzle and its solution.
+     */
+    public Board toBoard() {
+
+        return new Board(this.size, this.givens.clone(), this.solution.clone());
+
+    }
+
+    /**
+     * Converts the givens to the single-line format of {@link PuzzleFormat}.
+     *
+     * @return The puzzle as a line of one symbol per cell.
+     */
+    @Override
+    public String toString() {
+
+        return PuzzleFormat.format(this.givens);
+
+    }
+
+    @Override
+    public boolean equals(Object other) {
+
+        return other instanceof Puzzle puzzle && this.size == puzzle.size
+                && Arrays.equals(this.givens, puzzle.givens) && Arrays.equals(this.solution, puzzle.solution);
+
+    }
+
+    @Override
+    public int hashCode() {
+
+        return 31 * Arrays.hashCode(this.givens) + Arrays.hashCode(this.solution);
+
+    }
+
+}
@@ -0,0 +1,388 @@
+package main.java.com.mms.board;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps a bounded stock of pre-generated puzzles for every combination of grid size and difficulty.
+ * Background producer threads top up the stock of a combination to the configured depth whenever a puzzle is
+ * taken, so a new game usually only has to remove a ready puzzle from a queue. Combinations that have not been
+ * used for a while are evicted once more than the configured number of combinations is stored.
+ * The stock can be saved to and loaded from a local file to survive restarts.
+ * All methods are thread-safe.
+ */
+public class PuzzleCache {
+
+    /**
+     * The default number of puzzles kept ready per combination of size and difficulty.
+     */
+    public static final int DEFAULT_DEPTH = 3;
+
+    /**
+     * The default number of combinations of size and difficulty kept in the cache.
+     */
+    public static final int DEFAULT_MAX_KEYS = 6;
+
+    /**
+     * The number of puzzles kept ready per combination of size and difficulty.
+     */
+    private final int depth;
+
+    /**
+     * The time in milliseconds the removal of fields may take per generated puzzle.
+     */
+    private final long timeBudgetMillis;
+
+    /**
+     * The stocked puzzles per combination of size and difficulty, ordered from least to most recently used.
+     */
+    private final LinkedHashMap<Key, Entry> entries;
+
+    /**
+     * The threads generating puzzles in the background.
+     */
+    private final ExecutorService producers;
+
+    /**
+     * Constructs a puzzle cache with the default depth and number of combinations and a single producer thread.
+     *
+     * @param timeBudgetMillis The time in milliseconds the removal of fields may take per generated puzzle.
+     */
+    public PuzzleCache(long timeBudgetMillis) {
+
+        this(DEFAULT_DEPTH, DEFAULT_MAX_KEYS, 1, timeBudgetMillis);
+
+    }
+
+    /**
+     * Constructs a puzzle cache.
+     *
+     * @param depth            The number of puzzles kept ready per combination of size and difficulty.
+     * @param maxKeys          The number of combinations kept before the least recently used one is evicted.
+     * @param producerCount    The number of background threads generating puzzles.
+     * @param timeBudgetMillis The time in milliseconds the removal of fields may take per generated puzzle.
+     */
+    public PuzzleCache(int depth, int maxKeys, int producerCount, long timeBudgetMillis) {
+
+        this.depth = depth;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+
+                if (size() > maxKeys) {
+
+                    eldest.getValue().evicted = true;
+                    return true;
+
+                }
+
+                return false;
+
+            }
+
+        };
+        this.producers = Executors.newFixedThreadPool(producerCount, runnable -> {
+
+            Thread thread = new Thread(runnable, "puzzle-producer");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+
+            return thread;
+
+        });
+
+    }
+
+    /* GENERAL FUNCTIONS */
+
+    /**
+     * Takes a ready puzzle of the given size and difficulty out of the cache and schedules a replacement.
+     * If no puzzle is ready, one is generated on the calling thread.
+     *
+     * @param size       The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @param difficulty The difficulty level of the puzzle, a double value ranging from 0 to 1.
+     * @return A board holding the puzzle, or null if the calling thread was interrupted during generation.
+     */
+    public Board take(int size, double difficulty) {
+
+        return take(size, difficulty, new GenerationControl(this.timeBudgetMillis, null));
+
+    }
+
+    /**
+     * Takes a ready puzzle of the given size and difficulty out of the cache and schedules a replacement.
+     * If no puzzle is ready, one is generated on the calling thread under the given control, which bounds the
+     * whole generation, may cancel it and receives its progress. If digging is stopped, the puzzle dug so far
+     * is returned.
+     *
+     * @param size       The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @param difficulty The difficulty level of the puzzle, a double value ranging from 0 to 1.
+     * @param control    The control bounding a generation on the calling thread.
+     * @return A board holding the puzzle, or null if the control stopped the generation before the board was
+     * filled.
+     */
+    public Board take(int size, double difficulty, GenerationControl control) {
+
+        Key key = new Key(size, difficulty);
+        byte[] values;
+
+        synchronized (this) {
+
+            values = entry(key).puzzles.pollFirst();
+            refill(key);
+
+        }
+
+        if (values == null) {
+
+            values = generate(key, control);
+
+        }
+
+        return values == null ? null : new Board(size, values, null);
+
+    }
+
+    /**
+     * Starts generating puzzles of the given size and difficulty in the background until the cache holds the
+     * configured number of them.
+     *
+     * @param size       The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @param difficulty The difficulty level of the puzzle, a double value ranging from 0 to 1.
+     */
+    public synchronized void prefetch(int size, double difficulty) {
+
+        refill(new Key(size, difficulty));
+
+    }
+
+    /**
+     * Writes all ready puzzles to a file, one puzzle per line in the form "size;difficulty;puzzle".
+     *
+     * @param file The file to write, replaced if it exists.
+     * @throws IOException If the file cannot be written.
+     */
+    public synchronized void save(Path file) throws IOException {
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+
+            for (Map.Entry<Key, Entry> entry : this.entries.entrySet()) {
+
+                for (byte[] values : entry.getValue().puzzles) {
+
+                    writer.write(entry.getKey().size() + ";" + entry.getKey().difficulty() + ";"
+                            + PuzzleFormat.format(values));
+                    writer.newLine();
+
+                }
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Reads puzzles written by {@link #save(Path)} into the cache. Lines that cannot be parsed, puzzles that do
+     * not fit their size or difficulty or whose givens conflict, and puzzles exceeding the configured depth are
+     * skipped.
+     *
+     * @param file The file to read.
+     * @throws IOException If the file cannot be read.
+     */
+    public synchronized void load(Path file) throws IOException {
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.US_ASCII)) {
+
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+
+                String[] parts = line.split(";");
+
+                try {
+
+                    Key key = new Key(Integer.parseInt(parts[0]), Double.parseDouble(parts[1]));
+                    byte[] values = PuzzleFormat.parse(parts[2]);
+                    Entry entry = entry(key);
+
+                    if (isValid(key, values) && entry.puzzles.size() < this.depth) {
+
+                        entry.puzzles.addLast(values);
+
+                    }
+
+                } catch (IllegalArgumentException | IndexOutOfBoundsException ignored) {
+
+                }
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Stops all background producers. Puzzles being generated are discarded.
+     */
+    public void shutdown() {
+
+        this.producers.shutdownNow();
+
+    }
+
+    /* HELPER FUNCTIONS */
+
+    /**
+     * Retrieves the entry of a combination, creating it if necessary. Must be called while holding the lock.
+     *
+     * @param key The combination of size and difficulty.
+     * @return The entry holding the ready puzzles of the combination.
+     */
+    private Entry entry(Key key) {
+
+        return this.entries.computeIfAbsent(key, k -> new Entry());
+
+    }
+
+    /**
+     * Schedules background generation until the ready and pending puzzles of a combination reach the configured
+     * depth. Must be called while holding the lock.
+     *
+     * @param key The combination of size and difficulty.
+     */
+    private void refill(Key key) {
+
+        Entry entry = entry(key);
+
+        while (entry.puzzles.size() + entry.pending < this.depth && !this.producers.isShutdown()) {
+
+            entry.pending++;
+            this.producers.execute(() -> produce(key, entry));
+
+        }
+
+    }
+
+    /**
+     * Generates one puzzle in the background and stores it, unless the combination was evicted meanwhile.
+     * The pending count is released even if the generation fails, so the combination can be refilled later.
+     *
+     * @param key   The combination of size and difficulty.
+     * @param entry The entry the puzzle is generated for.
+     */
+    private void produce(Key key, Entry entry) {
+
+        byte[] values = null;
+
+        try {
+
+            values = generate(key, new GenerationControl(this.timeBudgetMillis, null));
+
+        } finally {
+
+            synchronized (this) {
+
+                entry.pending--;
+
+                if (values != null && !entry.evicted) {
+
+                    entry.puzzles.addLast(values);
+
+                }
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Generates a puzzle of the given combination on the calling thread.
+     *
+     * @param key     The combination of size and difficulty.
+     * @param control The control bounding the generation and receiving its progress.
+     * @return The cell values of the puzzle, or null if the control stopped the generation before the board was
+     * filled.
+     */
+    private byte[] generate(Key key, GenerationControl control) {
+
+        Board board = new Board(key.size());
+
+        if (!board.generateBoard(control)) {
+
+            return null;
+
+        }
+
+        board.generateUniquePuzzle(key.difficulty(), control);
+
+        return board.getValues();
+
+    }
+
+    /**
+     * Checks that a loaded puzzle can be played as a puzzle of its combination: the combination must be
+     * supported, the cell count must match the size and no two givens may conflict. Symbols beyond the grid are
+     * already rejected while parsing.
+     *
+     * @param key    The combination the puzzle was stored for.
+     * @param values The cell values of the puzzle.
+     * @return True if the puzzle can be stocked, false otherwise.
+     */
+    private static boolean isValid(Key key, byte[] values) {
+
+        if (!(key.difficulty() >= 0 && key.difficulty() <= 1) || PuzzleFormat.sizeOf(values.length) != key.size()) {
+
+            return false;
+
+        }
+
+        return new ValidationModel(new Board(key.size(), values, null)).getConflictCount() == 0;
+
+    }
+
+    /**
+     * Identifies a combination of grid size and difficulty.
+     *
+     * @param size       The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @param difficulty The difficulty level of the puzzle, a double value ranging from 0 to 1.
+     */
+    private record Key(int size, double difficulty) {
+
+    }
+
+    /**
+     * Holds the ready puzzles of one combination and the number of puzzles being generated for it.
+     */
+    private static class Entry {
+
+        /**
+         * The ready puzzles, oldest first.
+         */
+        private final ArrayDeque<byte[]> puzzles = new ArrayDeque<>();
+
+        /**
+         * The number of puzzles currently being generated in the background.
+         */
+        private int pending;
+
+        /**
+         * Marks an entry that was evicted from the cache, so puzzles finished afterwards are dropped.
+         */
+        private boolean evicted;
+
+    }
+
+}
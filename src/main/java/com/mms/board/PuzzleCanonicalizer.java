@@ -0,0 +1,590 @@
+package main.java.com.mms.board;
+
+import java.util.Arrays;
+
+/**
+ * Maps boards to a canonical representative, so boards that are transformations of each other (see
+ * {@link PuzzleTransform}) can be recognized as the same puzzle.
+ * The canonical form is the lexicographically smallest value sequence in row-major order among all transformed
+ * boards, where empty cells count as zero and values are relabeled in order of their first appearance.
+ * As values in the first row are always labeled in ascending order, the first row only depends on which of its
+ * cells are empty, so only the column orders giving some row the smallest such pattern are enumerated.
+ * For each of them the rows are chosen one by one: only rows producing the smallest possible next row are
+ * followed, and a branch is abandoned as soon as its prefix exceeds the best board found so far.
+ * Enumerating all column orders is only feasible up to {@link #MAX_FULL_SYMMETRY_SIZE}; for larger boards the
+ * canonical form only covers relabeling and row and band orders, so transposed and column-permuted copies are not
+ * recognized there.
+ * An instance reuses its buffers and is not thread-safe, every thread should use its own.
+ */
+public class PuzzleCanonicalizer {
+
+    /**
+     * The largest size for which transpositions and column orders are enumerated.
+     */
+    public static final int MAX_FULL_SYMMETRY_SIZE = 3;
+
+    /**
+     * Determines the number of rows/columns in a single subgrid.
+     */
+    private final int size;
+
+    /**
+     * Represents the full size of the Sudoku board (size * size).
+     */
+    private final int fullSize;
+
+    /**
+     * Indicates whether transpositions and column orders are enumerated.
+     */
+    private final boolean fullSymmetry;
+
+    /**
+     * The transposed copy of the board being canonicalized.
+     */
+    private final byte[] transposed;
+
+    /**
+     * The board being transformed by the running search, either the input or its transposed copy.
+     */
+    private byte[] source;
+
+    /**
+     * The column order of the running search, holding the source column of every target column.
+     */
+    private final int[] columns;
+
+    /**
+     * Marks the source columns already placed in the column order.
+     */
+    private final boolean[] usedColumns;
+
+    /**
+     * Marks the source stacks already placed in the column order.
+     */
+    private final boolean[] usedStacks;
+
+    /**
+     * The source stack placed at every target stack.
+     */
+    private final int[] chosenStacks;
+
+    /**
+     * The source row the column order is built for, which becomes the first row of the transformed board.
+     */
+    private int patternRow;
+
+    /**
+     * The number of filled cells per source stack of the pattern row.
+     */
+    private final int[] stackCounts;
+
+    /**
+     * The number of filled cells per target stack of the pattern row, in ascending order.
+     */
+    private final int[] sortedCounts;
+
+    /**
+     * The transformed board built by the running search.
+     */
+    private final byte[] current;
+
+    /**
+     * The smallest transformed board found so far.
+     */
+    private final byte[] best;
+
+    /**
+     * Indicates whether a complete board was stored in {@link #best}.
+     */
+    private boolean hasBest;
+
+    /**
+     * The number of times a smaller board was stored in {@link #best}.
+     */
+    private long improvementCount;
+
+    /**
+     * The new label of every value, zero for values that have not appeared yet.
+     */
+    private final int[] labels;
+
+    /**
+     * The values in the order they were labeled, used to undo labels when backtracking.
+     */
+    private final int[] labeledValues;
+
+    /**
+     * The number of values labeled so far.
+     */
+    private int labelCount;
+
+    /**
+     * Marks the source rows already placed.
+     */
+    private final boolean[] usedRows;
+
+    /**
+     * Marks the source bands already placed.
+     */
+    private final boolean[] usedBands;
+
+    /**
+     * The source band placed at every target band.
+     */
+    private final int[] chosenBands;
+
+    /**
+     * The smallest candidate row found at every depth of the search.
+     */
+    private final byte[][] minimumRows;
+
+    /**
+     * Constructs a canonicalizer for boards of the given size.
+     *
+     * @param size The size of the Sudoku grid (number of rows/columns in a subgrid).
+     */
+    public PuzzleCanonicalizer(int size) {
+
+        BoardGeometry geometry = BoardGeometry.of(size);
+
+        this.size = size;
+        this.fullSize = geometry.getFullSize();
+        this.fullSymmetry = size <= MAX_FULL_SYMMETRY_SIZE;
+        this.columns = new int[this.fullSize];
+        this.usedColumns = new boolean[this.fullSize];
+        this.usedStacks = new boolean[size];
+        this.chosenStacks = new int[size];
+        this.stackCounts = new int[size];
+        this.sortedCounts = new int[size];
+        this.transposed = new byte[geometry.getCellCount()];
+        this.current = new byte[geometry.getCellCount()];
+        this.best = new byte[geometry.getCellCount()];
+        this.labels = new int[this.fullSize + 1];
+        this.labeledValues = new int[this.fullSize];
+        this.usedRows = new boolean[this.fullSize];
+        this.usedBands = new boolean[size];
+        this.chosenBands = new int[size];
+        this.minimumRows = new byte[this.fullSize][this.fullSize];
+
+    }
+
+    /* GENERAL FUNCTIONS */
+
+    /**
+     * Computes the canonical form of a board.
+     *
+     * @param values The values in row-major order, zero marking an empty cell.
+     * @return The canonical form as a new array.
+     */
+    public byte[] canonicalize(byte[] values) {
+
+        byte[] target = new byte[values.length];
+        canonicalize(values, target);
+
+        return target;
+
+    }
+
+    /**
+     * Computes the canonical form of a board.
+     *
+     * @param values The values in row-major order, zero marking an empty cell.
+     * @param target The array receiving the canonical form.
+     */
+    public void canonicalize(byte[] values, byte[] target) {
+
+        if (values.length != this.current.length) {
+
+            throw new IllegalArgumentException("Board has " + values.length + " cells, expected "
+                    + this.current.length);
+
+        }
+
+        this.hasBest = false;
+
+        if (!this.fullSymmetry) {
+
+            for (int column = 0; column < this.fullSize; column++) {
+
+                this.columns[column] = column;
+
+            }
+
+            this.source = values;
+            searchRow(0, false);
+            System.arraycopy(this.best, 0, target, 0, target.length);
+
+            return;
+
+        }
+
+        for (int row = 0; row < this.fullSize; row++) {
+
+            for (int column = 0; column < this.fullSize; column++) {
+
+                this.transposed[column * this.fullSize + row] = values[row * this.fullSize + column];
+
+            }
+
+        }
+
+        long smallestPattern = Long.MAX_VALUE;
+
+        for (byte[] board : new byte[][]{values, this.transposed}) {
+
+            for (int row = 0; row < this.fullSize; row++) {
+
+                smallestPattern = Math.min(smallestPattern, smallestPattern(board, row));
+
+            }
+
+        }
+
+        for (byte[] board : new byte[][]{values, this.transposed}) {
+
+            this.source = board;
+
+            for (int row = 0; row < this.fullSize; row++) {
+
+                if (smallestPattern(board, row) == smallestPattern) {
+
+                    this.patternRow = row;
+                    placeColumn(0);
+
+                }
+
+            }
+
+        }
+
+        System.arraycopy(this.best, 0, target, 0, target.length);
+
+    }
+
+    /**
+     * Computes a 64-bit fingerprint of the canonical form of a board. Boards that are transformations of each
+     * other share the fingerprint; different boards collide only with negligible probability.
+     *
+     * @param values The values in row-major order, zero marking an empty cell.
+     * @return The fingerprint of the board.
+     */
+    public long fingerprint(byte[] values) {
+
+        canonicalize(values, this.current);
+
+        long hash = 0xcbf29ce484222325L;
+
+        for (byte value : this.current) {
+
+            hash = (hash ^ value) * 0x100000001b3L;
+
+        }
+
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+
+        return hash ^ (hash >>> 33);
+
+    }
+
+    /* HELPER FUNCTIONS */
+
+    /**
+     * Places the remaining rows of the transformed board, following only the rows that produce the smallest next
+     * row and abandoning the branch once it exceeds the best board.
+     *
+     * @param row  The target row to fill next.
+     * @param tied True if the rows placed so far equal the best board, false if they are smaller or no best board
+     *             exists yet.
+     */
+    private void searchRow(int row, boolean tied) {
+
+        if (row == this.fullSize) {
+
+            if (!tied) {
+
+                System.arraycopy(this.current, 0, this.best, 0, this.best.length);
+                this.hasBest = true;
+                this.improvementCount++;
+
+            }
+
+            return;
+
+        }
+
+        int offset = row * this.fullSize;
+        byte[] minimum = this.minimumRows[row];
+        boolean found = false;
+
+        for (int candidate = 0; candidate < this.fullSize; candidate++) {
+
+            if (isAllowed(row, candidate)) {
+
+                int labelCount = this.labelCount;
+                int order = mapRow(candidate, offset, found ? minimum : null);
+                unlabel(labelCount);
+
+                if (order < 0) {
+
+                    System.arraycopy(this.current, offset, minimum, 0, this.fullSize);
+                    found = true;
+
+                }
+
+            }
+
+        }
+
+        int order = tied ? Arrays.compare(minimum, 0, this.fullSize, this.best, offset, offset + this.fullSize) : -1;
+
+        if (order > 0) {
+
+            return;
+
+        }
+
+        for (int candidate = 0; candidate < this.fullSize; candidate++) {
+
+            if (!isAllowed(row, candidate)) {
+
+                continue;
+
+            }
+
+            int labelCount = this.labelCount;
+
+            if (mapRow(candidate, offset, minimum) == 0) {
+
+                boolean newBand = row % this.size == 0;
+                long improvementCount = this.improvementCount;
+                this.usedRows[candidate] = true;
+
+                if (newBand) {
+
+                    this.usedBands[candidate / this.size] = true;
+                    this.chosenBands[row / this.size] = candidate / this.size;
+
+                }
+
+                searchRow(row + 1, order == 0);
+
+                this.usedRows[candidate] = false;
+
+                if (newBand) {
+
+                    this.usedBands[candidate / this.size] = false;
+
+                }
+
+                if (this.improvementCount != improvementCount) {
+
+                    order = 0;
+
+                }
+
+            }
+
+            unlabel(labelCount);
+
+        }
+
+    }
+
+    /**
+     * Computes the smallest pattern of empty cells a row can take under any column order: in every stack the empty
+     * cells come first and stacks with fewer values come first. The counts of filled cells are left in
+     * {@link #stackCounts} and {@link #sortedCounts}.
+     *
+     * @param board The board holding the row.
+     * @param row   The index of the row.
+     * @return The pattern as a bitmask, the first column in the highest bit and filled cells as set bits; the
+     * lexicographic order of rows with freshly labeled values is the numeric order of their patterns.
+     */
+    private long smallestPattern(byte[] board, int row) {
+
+        Arrays.fill(this.stackCounts, 0);
+
+        for (int column = 0; column < this.fullSize; column++) {
+
+            if (board[row * this.fullSize + column] != 0) {
+
+                this.stackCounts[column / this.size]++;
+
+            }
+
+        }
+
+        System.arraycopy(this.stackCounts, 0, this.sortedCounts, 0, this.size);
+        Arrays.sort(this.sortedCounts);
+
+        long pattern = 0;
+
+        for (int count : this.sortedCounts) {
+
+            pattern = (pattern << this.size) | ((1L << count) - 1);
+
+        }
+
+        return pattern;
+
+    }
+
+    /**
+     * Enumerates the column orders giving the pattern row its smallest pattern of empty cells and searches the
+     * rows for each of them.
+     *
+     * @param column The target column to fill next.
+     */
+    private void placeColumn(int column) {
+
+        if (column == this.fullSize) {
+
+            searchRow(0, this.hasBest);
+            return;
+
+        }
+
+        int stack = column / this.size;
+
+        if (column % this.size != 0) {
+
+            placeColumnInStack(column);
+            return;
+
+        }
+
+        for (int candidate = 0; candidate < this.size; candidate++) {
+
+            if (!this.usedStacks[candidate] && this.stackCounts[candidate] == this.sortedCounts[stack]) {
+
+                this.usedStacks[candidate] = true;
+                this.chosenStacks[stack] = candidate;
+                placeColumnInStack(column);
+                this.usedStacks[candidate] = false;
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Places a column of the stack chosen for a target stack: the empty cells of the pattern row first, then the
+     * filled ones, each in every order.
+     *
+     * @param column The target column to fill next.
+     */
+    private void placeColumnInStack(int column) {
+
+        int stack = column / this.size;
+        int first = this.chosenStacks[stack] * this.size;
+        boolean empty = column % this.size < this.size - this.sortedCounts[stack];
+        int rowStart = this.patternRow * this.fullSize;
+
+        for (int candidate = first; candidate < first + this.size; candidate++) {
+
+            if (!this.usedColumns[candidate] && (this.source[rowStart + candidate] == 0) == empty) {
+
+                this.usedColumns[candidate] = true;
+                this.columns[column] = candidate;
+                placeColumn(column + 1);
+                this.usedColumns[candidate] = false;
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Checks whether a source row may be placed at a target row: it must not be placed yet and belong to the band
+     * chosen for the target band, or to an unused band if the target row starts a new band. When column orders are
+     * enumerated, the first row is the pattern row the order was built for; other rows reaching the same pattern
+     * under this order are examined with their own orders.
+     *
+     * @param row       The target row.
+     * @param candidate The source row.
+     * @return True if the source row may be placed, false otherwise.
+     */
+    private boolean isAllowed(int row, int candidate) {
+
+        if (this.usedRows[candidate] || (row == 0 && this.fullSymmetry && candidate != this.patternRow)) {
+
+            return false;
+
+        }
+
+        int band = candidate / this.size;
+
+        return row % this.size == 0 ? !this.usedBands[band] : this.chosenBands[row / this.size] == band;
+
+    }
+
+    /**
+     * Writes a source row into the transformed board, applying the column order and labeling values that appear
+     * for the first time, and compares it with a reference row. Writing stops at the first cell exceeding the
+     * reference.
+     *
+     * @param sourceRow The source row.
+     * @param offset    The index in the transformed board the row starts at.
+     * @param reference The row to compare with, or null to write the whole row.
+     * @return A negative number if the row is smaller than the reference or no reference is given, zero if it is
+     * equal and a positive number if it is larger.
+     */
+    private int mapRow(int sourceRow, int offset, byte[] reference) {
+
+        int start = sourceRow * this.fullSize;
+        int order = reference == null ? -1 : 0;
+
+        for (int column = 0; column < this.fullSize; column++) {
+
+            int value = this.source[start + this.columns[column]];
+
+            if (value != 0 && this.labels[value] == 0) {
+
+                this.labeledValues[this.labelCount] = value;
+                this.labelCount++;
+                this.labels[value] = this.labelCount;
+
+            }
+
+            int label = this.labels[value];
+            this.current[offset + column] = (byte) label;
+
+            if (order == 0 && label != reference[column]) {
+
+                if (label > reference[column]) {
+
+                    return 1;
+
+                }
+
+                order = -1;
+
+            }
+
+        }
+
+        return order;
+
+    }
+
+    /**
+     * Removes the labels assigned after the given number of labels existed.
+     *
+     * @param labelCount The number of labels to keep.
+     */
+    private void unlabel(int labelCount) {
+
+        while (this.labelCount > labelCount) {
+
+            this.labelCount--;
+            this.labels[this.labeledValues[this.labelCount]] = 0;
+
+        }
+
+    }
+
+
+}
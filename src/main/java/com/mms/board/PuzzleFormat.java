@@ -0,0 +1,211 @@
+package main.java.com.mms.board;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Converts puzzles to and from the common single-line text format.
+ * A puzzle is written as one character per cell in row-major order: '.' for an empty cell, the digits 1 to 9 for
+ * the values 1 to 9 and letters for larger values (A-Z for 10 to 35, a-z for 36 to 61, then '@', '#' and '$'), so
+ * a 9x9 puzzle is the usual 81-character line. When parsing, '0' is accepted for empty cells as well.
+ */
+public final class PuzzleFormat {
+
+    /**
+     * The symbols representing the values 1 to 64, indexed by value - 1.
+     */
+    private static final String SYMBOLS =
+            "123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz@#$";
+
+    /**
+     * The symbol written for an empty cell.
+     */
+    private static final char EMPTY = '.';
+
+    /**
+     * The value of every ASCII symbol, -1 for symbols that do not represent a value.
+     */
+    private static final byte[] VALUES = new byte[128];
+
+    static {
+
+        Arrays.fill(VALUES, (byte) -1);
+        VALUES[EMPTY] = 0;
+        VALUES['0'] = 0;
+
+        for (int i = 0; i < SYMBOLS.length(); i++) {
+
+            VALUES[SYMBOLS.charAt(i)] = (byte) (i + 1);
+
+        }
+
+    }
+
+    /**
+     * Prevents instantiation, this class only provides static conversions.
+     */
+    private PuzzleFormat() {
+
+    }
+
+    /**
+     * Converts a board to a single line.
+     *
+     * @param board The board to convert.
+     * @return The board as a line of one symbol per cell.
+     */
+    public static String format(Board board) {
+
+        return format(board.getValues());
+
+    }
+
+    /**
+     * Converts the values of a board to a single line.
+     *
+     * @param values The cell values in row-major order, zero marking an empty cell.
+     * @return The puzzle as a line of one symbol per cell.
+     */
+    public static String format(byte[] values) {
+
+        char[] line = new char[values.length];
+
+        for (int i = 0; i < values.length; i++) {
+
+            line[i] = toSymbol(values[i]);
+
+        }
+
+        return new String(line);
+
+    }
+
+    /**
+     * Parses a single line into cell values.
+     *
+     * @param line The puzzle as a line of one symbol per cell.
+     * @return The cell values in row-major order, zero marking an empty cell.
+     * @throws IllegalArgumentException If the line length is not a supported cell count or contains an unknown
+     *                                  symbol.
+     */
+    public static byte[] parse(CharSequence line) {
+
+        int size = sizeOf(line.length());
+
+        if (size < 1) {
+
+            throw new IllegalArgumentException("Unsupported puzzle length: " + line.length());
+
+        }
+
+        int fullSize = size * size;
+        byte[] values = new byte[line.length()];
+
+        for (int i = 0; i < values.length; i++) {
+
+            int value = fromSymbol(line.charAt(i));
+
+            if (value < 0 || value > fullSize) {
+
+                throw new IllegalArgumentException("Invalid symbol '" + line.charAt(i) + "' at position " + i);
+
+            }
+
+            values[i] = (byte) value;
+
+        }
+
+        return values;
+
+    }
+
+    /**
+     * Parses a line stored as ASCII bytes in a buffer into cell values, reading the symbols straight from the
+     * buffer instead of decoding the line into a string first.
+     * The buffer is read with absolute positions only, so several threads may parse lines of a shared buffer.
+     *
+     * @param buffer The buffer holding the line, for example a memory-mapped file.
+     * @param offset The index of the first symbol within the buffer.
+     * @param length The number of symbols, without the line terminator.
+     * @return The cell values in row-major order, zero marking an empty cell.
+     * @throws IllegalArgumentException If the line length is not a supported cell count or contains an unknown
+     *                                  symbol.
+     */
+    public static byte[] parse(ByteBuffer buffer, int offset, int length) {
+
+        int size = sizeOf(length);
+
+        if (size < 1) {
+
+            throw new IllegalArgumentException("Unsupported puzzle length: " + length);
+
+        }
+
+        int fullSize = size * size;
+        byte[] values = new byte[length];
+
+        for (int i = 0; i < length; i++) {
+
+            int value = fromSymbol((char) (buffer.get(offset + i) & 0xFF));
+
+            if (value < 0 || value > fullSize) {
+
+                throw new IllegalArgumentException("Invalid symbol at position " + i);
+
+            }
+
+            values[i] = (byte) value;
+
+        }
+
+        return values;
+
+    }
+
+    /**
+     * Determines the subgrid size of a board from its number of cells.
+     *
+     * @param cellCount The number of cells, fullSize * fullSize.
+     * @return The size of the board (number of rows/columns in a subgrid), or -1 if no supported size matches.
+     */
+    public static int sizeOf(int cellCount) {
+
+        for (int size = 1; size <= Board.MAX_SIZE; size++) {
+
+            if (size * size * size * size == cellCount) {
+
+                return size;
+
+            }
+
+        }
+
+        return -1;
+
+    }
+
+    /**
+     * Converts a cell value to its symbol.
+     *
+     * @param value The cell value, zero for an empty cell.
+     * @return The symbol representing the value.
+     */
+    public static char toSymbol(int value) {
+
+        return value == 0 ? EMPTY : SYMBOLS.charAt(value - 1);
+
+    }
+
+    /**
+     * Converts a symbol to its cell value.
+     *
+     * @param symbol The symbol to convert.
+     * @return The cell value, zero for an empty cell, or -1 if the symbol is unknown.
+     */
+    public static int fromSymbol(char symbol) {
+
+        return symbol < VALUES.length ? VALUES[symbol] : -1;
+
+    }
+
+}
@@ -0,0 +1,218 @@
+package main.java.com.mms.board;
+
+import java.util.Spliterator;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Produces puzzles as a lazily evaluated stream.
+ * Every puzzle is generated only when the stream pulls it, so filters and short-circuiting operations such as
+ * {@code limit} or {@code findFirst} generate no more puzzles than needed. The stream is unordered and splits
+ * into independent parts, each filling its own {@link Board}, so {@code .parallel()} spreads the generation over
+ * the common fork/join pool without any shared mutable state.
+ * Every puzzle has an index in the stream and draws its random choices from its own {@link SplittableRandom},
+ * seeded from the stream seed and the index by {@link #puzzleSeed(long, long)}. A seeded stream is therefore
+ * ordered and yields the same puzzles in the same order, whether it runs sequentially or on any number of threads.
+ * The indices of a stream form an exact range, so it reports its size and so does every part it splits into. A
+ * parallel {@code limit(n)} therefore cuts the range down to the first n indices before the traversal starts and
+ * generates exactly n puzzles, instead of letting every thread generate ahead and discarding the surplus.
+ * If a thread generating puzzles is interrupted, the terminal operation fails with a
+ * {@link java.util.concurrent.CancellationException} instead of yielding a stale puzzle.
+ */
+public final class PuzzleGenerator {
+
+    /**
+     * Prevents instantiation, this class only provides static factories.
+     */
+    private PuzzleGenerator() {
+
+    }
+
+    /**
+     * Creates an infinite stream of newly generated puzzles.
+     *
+     * @param size             The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @param difficulty       The difficulty level of the puzzles, a double value ranging from 0 to 1.
+     * @param timeBudgetMillis The time in milliseconds the removal of fields may take per puzzle.
+     * @return A lazy, unordered stream of unique-solution puzzles.
+     */
+    public static Stream<Puzzle> stream(int size, double difficulty, long timeBudgetMillis) {
+
+        BoardGeometry.of(size);
+
+        return StreamSupport.stream(new PuzzleSpliterator(size, difficulty, timeBudgetMillis,
+                new SplittableRandom().nextLong(), false, 0, Long.MAX_VALUE), false);
+
+    }
+
+    /**
+     * Creates an infinite, reproducible stream of newly generated puzzles.
+     * Puzzles are only reproducible if their removal of fields finishes within the time budget.
+     *
+     * @param size             The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @param difficulty       The difficulty level of the puzzles, a double value ranging from 0 to 1.
+     * @param timeBudgetMillis The time in milliseconds the removal of fields may take per puzzle.
+     * @param seed             The seed all puzzles are derived from.
+     * @return A lazy, ordered stream of unique-solution puzzles.
+     */
+    public static Stream<Puzzle> stream(int size, double difficulty, long timeBudgetMillis, long seed) {
+
+        BoardGeometry.of(size);
+
+        return StreamSupport.stream(new PuzzleSpliterator(size, difficulty, timeBudgetMillis,
+                seed, true, 0, Long.MAX_VALUE), false);
+
+    }
+
+    /**
+     * Derives the seed of a single puzzle from the seed of a run and the index of the puzzle within the run,
+     * mixing both with the SplitMix64 finalizer so neighbouring indices get unrelated random sequences.
+     *
+     * @param seed  The seed of the run.
+     * @param index The index of the puzzle.
+     * @return The seed for the random choices of the puzzle.
+     */
+    public static long puzzleSeed(long seed, long index) {
+
+        long z = seed + (index + 1) * 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+
+        return z ^ (z >>> 31);
+
+    }
+
+    /**
+     * Supplies the newly generated puzzles of a range of indices. Splitting hands the lower half of the range to
+     * a new spliterator and keeps the upper half, so every index is generated exactly once, by whichever part
+     * owns it.
+     */
+    private static final class PuzzleSpliterator implements Spliterator<Puzzle> {
+
+        /**
+         * The size of the Sudoku grid (number of rows/columns in a subgrid).
+         */
+        private final int size;
+
+        /**
+         * The difficulty level of the puzzles, a double value ranging from 0 to 1.
+         */
+        private final double difficulty;
+
+        /**
+         * The time in milliseconds the removal of fields may take per puzzle.
+         */
+        private final long timeBudgetMillis;
+
+        /**
+         * The seed all puzzles are derived from.
+         */
+        private final long seed;
+
+        /**
+         * Indicates whether the stream reports its puzzles in index order.
+         */
+        private final boolean ordered;
+
+        /**
+         * The index of the next puzzle of this part of the stream.
+         */
+        private long index;
+
+        /**
+         * The index after the last puzzle of this part of the stream.
+         */
+        private final long fence;
+
+        /**
+         * The board this part of the stream generates its puzzles on, created on first use.
+         */
+        private Board board;
+
+        /**
+         * Constructs a spliterator.
+         *
+         * @param size             The size of the Sudoku grid (number of rows/columns in a subgrid).
+         * @param difficulty       The difficulty level of the puzzles, a double value ranging from 0 to 1.
+         * @param timeBudgetMillis The time in milliseconds the removal of fields may take per puzzle.
+         * @param seed             The seed all puzzles are derived from.
+         * @param ordered          True to report the puzzles in index order.
+         * @param index            The index of the first puzzle.
+         * @param fence            The index after the last puzzle.
+         */
+        private PuzzleSpliterator(int size, double difficulty, long timeBudgetMillis, long seed, boolean ordered,
+                                  long index, long fence) {
+
+            this.size = size;
+            this.difficulty = difficulty;
+            this.timeBudgetMillis = timeBudgetMillis;
+            this.seed = seed;
+            this.ordered = ordered;
+            this.index = index;
+            this.fence = fence;
+
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Puzzle> action) {
+
+            if (this.index >= this.fence) {
+
+                return false;
+
+            }
+
+            if (this.board == null) {
+
+                this.board = new Board(this.size);
+
+            }
+
+            this.board.setSeed(puzzleSeed(this.seed, this.index));
+            this.index++;
+            this.board.generateBoard();
+            this.board.generateUniquePuzzle(this.difficulty, this.timeBudgetMillis);
+            action.accept(Puzzle.of(this.board));
+
+            return true;
+
+        }
+
+        @Override
+        public Spliterator<Puzzle> trySplit() {
+
+            long middle = this.index + (this.fence - this.index) / 2;
+
+            if (middle <= this.index) {
+
+                return null;
+
+            }
+
+            Spliterator<Puzzle> prefix = new PuzzleSpliterator(this.size, this.difficulty, this.timeBudgetMillis,
+                    this.seed, this.ordered, this.index, middle);
+            this.index = middle;
+
+            return prefix;
+
+        }
+
+        @Override
+        public long estimateSize() {
+
+            return this.fence - this.index;
+
+        }
+
+        @Override
+        public int characteristics() {
+
+            return IMMUTABLE | NONNULL | SIZED | SUBSIZED | (this.ordered ? ORDERED : 0);
+
+        }
+
+    }
+
+}
@@ -0,0 +1,440 @@
+package main.java.com.mms.board;
+
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+
+/**
+ * A validity-preserving transformation of Sudoku boards: a permutation of the cells combined with a relabeling
+ * of the values. Swapping rows within a band, columns within a stack, whole bands or stacks, transposing,
+ * rotating and relabeling all turn a valid grid into another valid grid, and a puzzle into one with the same
+ * number of solutions and the same difficulty.
+ * Transformations are immutable; the operations return the composition of this transformation followed by the
+ * operation. Applying one is a single table lookup per cell, so one generated puzzle can be turned into thousands
+ * of distinct-looking puzzles at little more than the cost of copying the arrays.
+ */
+public final class PuzzleTransform {
+
+    /**
+     * The layout of the boards this transformation applies to.
+     */
+    private final BoardGeometry geometry;
+
+    /**
+     * The source cell of every target cell: the transformed board holds in cell i the value of cell cellMap[i].
+     */
+    private final int[] cellMap;
+
+    /**
+     * The new label of every value, indexed by value; index 0 maps an empty cell to itself.
+     */
+    private final byte[] valueMap;
+
+    /**
+     * Constructs a transformation from its tables.
+     *
+     * @param geometry The layout of the boards this transformation applies to.
+     * @param cellMap  The source cell of every target cell.
+     * @param valueMap The new label of every value.
+     */
+    private PuzzleTransform(BoardGeometry geometry, int[] cellMap, byte[] valueMap) {
+
+        this.geometry = geometry;
+        this.cellMap = cellMap;
+        this.valueMap = valueMap;
+
+    }
+
+    /**
+     * Creates the transformation leaving every board unchanged.
+     *
+     * @param size The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @return The identity transformation.
+     */
+    public static PuzzleTransform identity(int size) {
+
+        BoardGeometry geometry = BoardGeometry.of(size);
+        int[] cellMap = new int[geometry.getCellCount()];
+        byte[] valueMap = new byte[geometry.getFullSize() + 1];
+
+        for (int cell = 0; cell < cellMap.length; cell++) {
+
+            cellMap[cell] = cell;
+
+        }
+
+        for (int value = 0; value < valueMap.length; value++) {
+
+            valueMap[value] = (byte) value;
+
+        }
+
+        return new PuzzleTransform(geometry, cellMap, valueMap);
+
+    }
+
+    /**
+     * Creates a random transformation: a random relabeling, random row and column orders within every band and
+     * stack, random band and stack orders and a transposition with probability one half. Rotations and
+     * reflections are covered by these operations.
+     *
+     * @param size   The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @param random The random number generator used for the selection.
+     * @return A random transformation.
+     */
+    public static PuzzleTransform random(int size, RandomGenerator random) {
+
+        BoardGeometry geometry = BoardGeometry.of(size);
+        int fullSize = geometry.getFullSize();
+        int[] rows = randomLineOrder(size, random);
+        int[] columns = randomLineOrder(size, random);
+        boolean transpose = random.nextBoolean();
+        int[] cellMap = new int[geometry.getCellCount()];
+        byte[] valueMap = new byte[fullSize + 1];
+
+        for (int row = 0; row < fullSize; row++) {
+
+            for (int column = 0; column < fullSize; column++) {
+
+                int source = rows[row] * fullSize + columns[column];
+                cellMap[row * fullSize + column] = transpose ? columns[column] * fullSize + rows[row] : source;
+
+            }
+
+        }
+
+        int[] labels = permutation(fullSize, random);
+
+        for (int value = 1; value <= fullSize; value++) {
+
+            valueMap[value] = (byte) (labels[value - 1] + 1);
+
+        }
+
+        return new PuzzleTransform(geometry, cellMap, valueMap);
+
+    }
+
+    /**
+     * Creates an infinite stream of randomly transformed copies of a puzzle.
+     * The stream is sequential, as it draws from the given random number generator.
+     *
+     * @param puzzle The puzzle to transform.
+     * @param random The random number generator used for the transformations.
+     * @return A lazy stream of equivalent puzzles.
+     */
+    public static Stream<Puzzle> variants(Puzzle puzzle, RandomGenerator random) {
+
+        return Stream.generate(() -> random(puzzle.getSize(), random).apply(puzzle)).sequential();
+
+    }
+
+    /* OPERATIONS */
+
+    /**
+     * Swaps two rows of the same band.
+     *
+     * @param first  The index of the first row.
+     * @param second The index of the second row.
+     * @return This transformation followed by the swap.
+     */
+    public PuzzleTransform swapRows(int first, int second) {
+
+        requireSameBlock(first, second);
+
+        return thenLines(swap(identityOrder(), first, second), identityOrder(), false);
+
+    }
+
+    /**
+     * Swaps two columns of the same stack.
+     *
+     * @param first  The index of the first column.
+     * @param second The index of the second column.
+     * @return This transformation followed by the swap.
+     */
+    public PuzzleTransform swapColumns(int first, int second) {
+
+        requireSameBlock(first, second);
+
+        return thenLines(identityOrder(), swap(identityOrder(), first, second), false);
+
+    }
+
+    /**
+     * Swaps two bands, each being a horizontal strip of subgrids.
+     *
+     * @param first  The index of the first band.
+     * @param second The index of the second band.
+     * @return This transformation followed by the swap.
+     */
+    public PuzzleTransform swapBands(int first, int second) {
+
+        return thenLines(swapBlocks(first, second), identityOrder(), false);
+
+    }
+
+    /**
+     * Swaps two stacks, each being a vertical strip of subgrids.
+     *
+     * @param first  The index of the first stack.
+     * @param second The index of the second stack.
+     * @return This transformation followed by the swap.
+     */
+    public PuzzleTransform swapStacks(int first, int second) {
+
+        return thenLines(identityOrder(), swapBlocks(first, second), false);
+
+    }
+
+    /**
+     * Mirrors the board along its main diagonal.
+     *
+     * @return This transformation followed by the transposition.
+     */
+    public PuzzleTransform transpose() {
+
+        return thenLines(identityOrder(), identityOrder(), true);
+
+    }
+
+    /**
+     * Rotates the board by 90 degrees clockwise.
+     *
+     * @return This transformation followed by the rotation.
+     */
+    public PuzzleTransform rotate() {
+
+        int[] reversed = identityOrder();
+
+        for (int i = 0; i < reversed.length; i++) {
+
+            reversed[i] = reversed.length - 1 - i;
+
+        }
+
+        return thenLines(reversed, identityOrder(), true);
+
+    }
+
+    /**
+     * Relabels the values.
+     *
+     * @param labels The new label of every value, indexed by value - 1; must be a permutation of 1 to fullSize.
+     * @return This transformation followed by the relabeling.
+     */
+    public PuzzleTransform relabel(int[] labels) {
+
+        byte[] valueMap = new byte[this.valueMap.length];
+
+        for (int value = 1; value < valueMap.length; value++) {
+
+            valueMap[value] = (byte) labels[this.valueMap[value] - 1];
+
+        }
+
+        return new PuzzleTransform(this.geometry, this.cellMap, valueMap);
+
+    }
+
+    /* GENERAL FUNCTIONS */
+
+    /**
+     * Transforms the values of a board.
+     *
+     * @param source The values in row-major order, zero marking an empty cell.
+     * @param target The array receiving the transformed values; must not be the source array.
+     */
+    public void apply(byte[] source, byte[] target) {
+
+        for (int cell = 0; cell < this.cellMap.length; cell++) {
+
+            target[cell] = this.valueMap[source[this.cellMap[cell]]];
+
+        }
+
+    }
+
+    /**
+     * Transforms a puzzle together with its solution.
+     *
+     * @param puzzle The puzzle to transform.
+     * @return The transformed puzzle.
+     */
+    public Puzzle apply(Puzzle puzzle) {
+
+        int cellCount = this.cellMap.length;
+        byte[] source = new byte[cellCount];
+        byte[] givens = new byte[cellCount];
+        byte[] solution = new byte[cellCount];
+
+        puzzle.copyGivens(source);
+        apply(source, givens);
+        puzzle.copySolution(source);
+        apply(source, solution);
+
+        return new Puzzle(puzzle.getSize(), givens, solution);
+
+    }
+
+    /* HELPER FUNCTIONS */
+
+    /**
+     * Composes this transformation with a reordering of rows and columns and an optional transposition.
+     * The resulting board holds in row r and column c the value this transformation put at row rows[r] and
+     * column columns[c], read transposed if requested.
+     *
+     * @param rows      The source row of every target row.
+     * @param columns   The source column of every target column.
+     * @param transpose True to swap rows and columns after reordering.
+     * @return The composed transformation.
+     */
+    private PuzzleTransform thenLines(int[] rows, int[] columns, boolean transpose) {
+
+        int fullSize = this.geometry.getFullSize();
+        int[] cellMap = new int[this.cellMap.length];
+
+        for (int row = 0; row < fullSize; row++) {
+
+            for (int column = 0; column < fullSize; column++) {
+
+                int source = transpose
+                        ? rows[column] * fullSize + columns[row]
+                        : rows[row] * fullSize + columns[column];
+                cellMap[row * fullSize + column] = this.cellMap[source];
+
+            }
+
+        }
+
+        return new PuzzleTransform(this.geometry, cellMap, this.valueMap);
+
+    }
+
+    /**
+     * Creates the order leaving all rows or columns in place.
+     *
+     * @return An array holding 0 to fullSize - 1.
+     */
+    private int[] identityOrder() {
+
+        int[] order = new int[this.geometry.getFullSize()];
+
+        for (int i = 0; i < order.length; i++) {
+
+            order[i] = i;
+
+        }
+
+        return order;
+
+    }
+
+    /**
+     * Creates the order swapping two blocks of size consecutive rows or columns.
+     *
+     * @param first  The index of the first block.
+     * @param second The index of the second block.
+     * @return The line order.
+     */
+    private int[] swapBlocks(int first, int second) {
+
+        int size = this.geometry.getSize();
+        int[] order = identityOrder();
+
+        for (int i = 0; i < size; i++) {
+
+            swap(order, first * size + i, second * size + i);
+
+        }
+
+        return order;
+
+    }
+
+    /**
+     * Ensures two rows or columns lie in the same band or stack.
+     *
+     * @param first  The index of the first line.
+     * @param second The index of the second line.
+     */
+    private void requireSameBlock(int first, int second) {
+
+        if (first / this.geometry.getSize() != second / this.geometry.getSize()) {
+
+            throw new IllegalArgumentException("Lines " + first + " and " + second + " are in different blocks");
+
+        }
+
+    }
+
+    /**
+     * Creates a random line order that keeps lines within their blocks but shuffles the blocks and the lines
+     * inside every block.
+     *
+     * @param size   The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @param random The random number generator used for the selection.
+     * @return The source line of every target line.
+     */
+    private static int[] randomLineOrder(int size, RandomGenerator random) {
+
+        int[] blocks = permutation(size, random);
+        int[] order = new int[size * size];
+
+        for (int block = 0; block < size; block++) {
+
+            int[] lines = permutation(size, random);
+
+            for (int line = 0; line < size; line++) {
+
+                order[block * size + line] = blocks[block] * size + lines[line];
+
+            }
+
+        }
+
+        return order;
+
+    }
+
+    /**
+     * Creates a random permutation with the Fisher-Yates shuffle.
+     *
+     * @param length The number of elements.
+     * @param random The random number generator used for the selection.
+     * @return A random ordering of 0 to length - 1.
+     */
+    private static int[] permutation(int length, RandomGenerator random) {
+
+        int[] permutation = new int[length];
+
+        for (int i = 0; i < length; i++) {
+
+            int j = random.nextInt(i + 1);
+            permutation[i] = permutation[j];
+            permutation[j] = i;
+
+        }
+
+        return permutation;
+
+    }
+
+    /**
+     * Swaps two elements of an array.
+     *
+     * @param array  The array to modify.
+     * @param first  The index of the first element.
+     * @param second The index of the second element.
+     * @return The modified array.
+     */
+    private static int[] swap(int[] array, int first, int second) {
+
+        int temporary = array[first];
+        array[first] = array[second];
+        array[second] = temporary;
+
+        return array;
+
+    }
+
+}
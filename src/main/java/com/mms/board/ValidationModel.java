@@ -0,0 +1,267 @@
+package main.java.com.mms.board;
+
+/**
+ * Tracks the player's entries on a puzzle and keeps the validation result up to date while they are typed.
+ * For every row, column and subgrid the model counts how often each value occurs, and it keeps the number of
+ * values occurring more than once in a unit. Changing a cell updates six counters, so checking a cell for
+ * conflicts and checking the whole board for a solution both take constant time, independent of the grid size.
+ * Because the puzzles have a unique solution, a completely filled board without conflicts is the solution.
+ */
+public class ValidationModel {
+
+    /**
+     * The layout of the board.
+     */
+    private final BoardGeometry geometry;
+
+    /**
+     * Represents the full size of the Sudoku board (size * size).
+     */
+    private final int fullSize;
+
+    /**
+     * The current value of every cell, zero marking an empty cell.
+     */
+    private final byte[] values;
+
+    /**
+     * Indicates for every cell whether it is a given of the puzzle and cannot be changed.
+     */
+    private final boolean[] given;
+
+    /**
+     * The number of occurrences of every value in every unit, stored at unit * (fullSize + 1) + value.
+     * The rows come first, then the columns, then the subgrids.
+     */
+    private final int[] unitCounts;
+
+    /**
+     * The number of cells holding a value.
+     */
+    private int filledCount;
+
+    /**
+     * The number of pairs of unit and value where the value occurs more than once in the unit.
+     */
+    private int conflictCount;
+
+    /**
+     * Constructs a model for the current puzzle of a board.
+     *
+     * @param board The board holding the puzzle; its filled cells become the givens.
+     */
+    public ValidationModel(Board board) {
+
+        this.geometry = BoardGeometry.of(board.getSize());
+        this.fullSize = this.geometry.getFullSize();
+        this.values = new byte[this.geometry.getCellCount()];
+        this.given = new boolean[this.values.length];
+        this.unitCounts = new int[3 * this.fullSize * (this.fullSize + 1)];
+
+        byte[] givens = board.getValues();
+
+        for (int cell = 0; cell < givens.length; cell++) {
+
+            if (givens[cell] != 0) {
+
+                this.given[cell] = true;
+                setCell(cell, givens[cell]);
+
+            }
+
+        }
+
+    }
+
+    /* GETTER AND SETTER */
+
+    /**
+     * Retrieves the layout of the board.
+     *
+     * @return The board geometry.
+     */
+    public BoardGeometry getGeometry() {
+
+        return this.geometry;
+
+    }
+
+    /**
+     * Retrieves the value of a cell.
+     *
+     * @param cell The linear index of the cell.
+     * @return The value of the cell, zero if it is empty.
+     */
+    public int getValue(int cell) {
+
+        return this.values[cell];
+
+    }
+
+    /**
+     * Enters a value into a cell. Givens and values outside 0 to fullSize are ignored.
+     *
+     * @param cell  The linear index of the cell.
+     * @param value The value to enter, zero to empty the cell.
+     */
+    public void setValue(int cell, int value) {
+
+        if (this.given[cell] || value < 0 || value > this.fullSize) {
+
+            return;
+
+        }
+
+        setCell(cell, value);
+
+    }
+
+    /**
+     * Checks whether a cell is a given of the puzzle.
+     *
+     * @param cell The linear index of the cell.
+     * @return True if the cell cannot be changed by the player, false otherwise.
+     */
+    public boolean isGiven(int cell) {
+
+        return this.given[cell];
+
+    }
+
+    /**
+     * Checks whether the value of a cell occurs again in its row, column or subgrid.
+     *
+     * @param cell The linear index of the cell.
+     * @return True if the cell is filled and conflicts with a peer, false otherwise.
+     */
+    public boolean isConflicting(int cell) {
+
+        int value = this.values[cell];
+
+        if (value == 0) {
+
+            return false;
+
+        }
+
+        return this.unitCounts[index(this.geometry.row(cell), value)] > 1
+                || this.unitCounts[index(this.fullSize + this.geometry.column(cell), value)] > 1
+                || this.unitCounts[index(2 * this.fullSize + this.geometry.box(cell), value)] > 1;
+
+    }
+
+    /**
+     * Retrieves the number of conflicts on the board.
+     *
+     * @return The number of pairs of unit and value where the value occurs more than once in the unit.
+     */
+    public int getConflictCount() {
+
+        return this.conflictCount;
+
+    }
+
+    /**
+     * Checks whether every cell holds a value.
+     *
+     * @return True if the board is completely filled, false otherwise.
+     */
+    public boolean isComplete() {
+
+        return this.filledCount == this.values.length;
+
+    }
+
+    /**
+     * Checks whether the board is solved: every cell is filled and no value occurs twice in a unit.
+     *
+     * @return True if the player's entries solve the puzzle, false otherwise.
+     */
+    public boolean isSolved() {
+
+        return isComplete() && this.conflictCount == 0;
+
+    }
+
+    /* GENERAL FUNCTIONS */
+
+    /**
+     * Removes all entries of the player, leaving only the givens.
+     */
+    public void clear() {
+
+        for (int cell = 0; cell < this.values.length; cell++) {
+
+            if (!this.given[cell]) {
+
+                setCell(cell, 0);
+
+            }
+
+        }
+
+    }
+
+    /* HELPER FUNCTIONS */
+
+    /**
+     * Replaces the value of a cell and updates the counters of its three units.
+     *
+     * @param cell  The linear index of the cell.
+     * @param value The new value, zero to empty the cell.
+     */
+    private void setCell(int cell, int value) {
+
+        int previous = this.values[cell];
+
+        if (previous == value) {
+
+            return;
+
+        }
+
+        replaceInUnit(this.geometry.row(cell), previous, value);
+        replaceInUnit(this.fullSize + this.geometry.column(cell), previous, value);
+        replaceInUnit(2 * this.fullSize + this.geometry.box(cell), previous, value);
+        this.filledCount += (value != 0 ? 1 : 0) - (previous != 0 ? 1 : 0);
+        this.values[cell] = (byte) value;
+
+    }
+
+    /**
+     * Replaces one occurrence of a value in a unit by another value, keeping the number of conflicts up to date.
+     *
+     * @param unit     The index of the unit.
+     * @param previous The value removed, zero for none.
+     * @param value    The value added, zero for none.
+     */
+    private void replaceInUnit(int unit, int previous, int value) {
+
+        if (previous != 0 && --this.unitCounts[index(unit, previous)] == 1) {
+
+            this.conflictCount--;
+
+        }
+
+        if (value != 0 && ++this.unitCounts[index(unit, value)] == 2) {
+
+            this.conflictCount++;
+
+        }
+
+    }
+
+    /**
+     * Computes the position of a counter.
+     *
+     * @param unit  The index of the unit.
+     * @param value The value.
+     * @return The index of the counter in {@link #unitCounts}.
+     */
+    private int index(int unit, int value) {
+
+        return unit * (this.fullSize + 1) + value;
+
+    }
+
+}
@@ -0,0 +1,119 @@
+package main.java.com.mms.board;
+
+import main.java.com.mms.metrics.GeneratorMetrics;
+import main.java.com.mms.metrics.ValidationEvent;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Checks filled Sudoku boards against the game's rules.
+ */
+public final class Validator {
+
+    /**
+     * Prevents instantiation, this class only provides static checks.
+     */
+    private Validator() {
+
+    }
+
+    /**
+     * Validates the Sudoku solution by checking if the number field meets the game's rules.
+     * (no repeated numbers in rows, columns, or sub-grids)
+     * The values seen in every row, column and subgrid are collected as bitmasks in a single pass over the cells,
+     * so the check takes time proportional to the number of cells and leaves the number field unchanged.
+     * Every validation is reported to the {@link GeneratorMetrics}.
+     *
+     * @param numberField 2D array representing the Sudoku board with values to be validated.
+     * @param size        The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @return True if every cell holds a value from 1 to fullSize that occurs only once in each of its units,
+     * false otherwise.
+     */
+    public static boolean validate(int[][] numberField, int size) {
+
+        return measure(size, () -> checkUnits(numberField, size));
+
+    }
+
+    /**
+     * Validates the board held by a validation model, which already tracks the filled cells and conflicts of
+     * every unit, so the check takes constant time. Every validation is reported to the {@link GeneratorMetrics}.
+     *
+     * @param model The model holding the values entered by the player.
+     * @return True if every cell is filled and no value occurs twice in a unit, false otherwise.
+     */
+    public static boolean validate(ValidationModel model) {
+
+        return measure(model.getGeometry().getSize(), model::isSolved);
+
+    }
+
+    /* HELPER FUNCTIONS */
+
+    /**
+     * Runs a check and reports it as a validation to the {@link GeneratorMetrics}.
+     *
+     * @param size  The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @param check The check deciding whether the board satisfies the rules.
+     * @return The result of the check.
+     */
+    private static boolean measure(int size, BooleanSupplier check) {
+
+        GeneratorMetrics metrics = GeneratorMetrics.get();
+        ValidationEvent event = metrics.beginValidation();
+        long startTime = metrics.startTime();
+        boolean valid = check.getAsBoolean();
+        metrics.endValidation(event, startTime, size, valid);
+
+        return valid;
+
+    }
+
+    /**
+     * Checks that every cell holds a value from 1 to fullSize that occurs only once in each of its units.
+     *
+     * @param numberField 2D array representing the Sudoku board with values to be validated.
+     * @param size        The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @return True if the board satisfies the rules, false otherwise.
+     */
+    private static boolean checkUnits(int[][] numberField, int size) {
+
+        int fullSize = size * size;
+        long[] rowMasks = new long[fullSize];
+        long[] columnMasks = new long[fullSize];
+        long[] boxMasks = new long[fullSize];
+
+        for (int i = 0; i < fullSize; i++) {
+
+            for (int j = 0; j < fullSize; j++) {
+
+                int value = numberField[i][j];
+
+                if (value < 1 || value > fullSize) {
+
+                    return false;
+
+                }
+
+                long bit = 1L << (value - 1);
+                int box = i / size * size + j / size;
+
+                if (((rowMasks[i] | columnMasks[j] | boxMasks[box]) & bit) != 0) {
+
+                    return false;
+
+                }
+
+                rowMasks[i] |= bit;
+                columnMasks[j] |= bit;
+                boxMasks[box] |= bit;
+
+            }
+
+        }
+
+        return true;
+
+    }
+
+}
@@ -0,0 +1,477 @@
+package main.java.com.mms.main;
+
+import main.java.com.mms.board.Board;
+import main.java.com.mms.board.PuzzleFormat;
+import main.java.com.mms.solver.DancingLinks;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Solves a file of puzzles from outside sources without a display, spreading the work over a pool of threads.
+ * The input holds one puzzle per line in the format of {@link PuzzleFormat}, of any supported size. The file is
+ * memory-mapped and the puzzles are parsed straight from the mapped bytes, so no line is ever decoded into a
+ * string. The lines are handed to the workers in chunks, and every worker reuses its own {@link DancingLinks}
+ * solver per size, which solves a puzzle and checks its uniqueness in a single search. A search that visits more
+ * than a fixed number of nodes per cell is abandoned, so a single pathological puzzle cannot stall a worker.
+ * The output holds one line per input line in the same order, so line n of the output belongs to line n of the
+ * input: the solution, or "no solution", "multiple solutions", "timeout" for abandoned searches or "invalid" for
+ * lines that are no puzzle, including blank lines. The time every puzzle took is recorded to report percentiles.
+ */
+public class BatchSolver {
+
+    /**
+     * The default number of search nodes per cell a single puzzle may visit before it is reported as a timeout.
+     */
+    public static final int DEFAULT_STEPS_PER_CELL = 1000;
+
+    /**
+     * The number of puzzles solved by a single task.
+     */
+    private static final int CHUNK_SIZE = 256;
+
+    /**
+     * The number of chunks per thread that may be solved ahead of the writer.
+     */
+    private static final int CHUNKS_IN_FLIGHT_PER_THREAD = 4;
+
+    /**
+     * The number of bytes of the input mapped at once.
+     */
+    private static final long WINDOW_SIZE = 1L << 30;
+
+    /**
+     * The number of worker threads.
+     */
+    private final int threads;
+
+    /**
+     * The number of search nodes per cell a single puzzle may visit before it is reported as a timeout.
+     */
+    private final int stepsPerCell;
+
+    /**
+     * The solvers every worker thread reuses, one per size.
+     */
+    private final ThreadLocal<DancingLinks[]> solvers;
+
+    /**
+     * The number of puzzles of the last run per {@link Outcome}, indexed by ordinal.
+     */
+    private final long[] outcomeCounts;
+
+    /**
+     * The time in nanoseconds every puzzle of the last run took, in input order.
+     */
+    private long[] latencies;
+
+    /**
+     * The number of puzzles processed by the last run.
+     */
+    private int puzzleCount;
+
+    /**
+     * Constructs a batch solver with the default step limit.
+     *
+     * @param threads The number of worker threads.
+     */
+    public BatchSolver(int threads) {
+
+        this(threads, DEFAULT_STEPS_PER_CELL);
+
+    }
+
+    /**
+     * Constructs a batch solver.
+     *
+     * @param threads      The number of worker threads.
+     * @param stepsPerCell The number of search nodes per cell a single puzzle may visit before it is reported as a
+     *                     timeout.
+     */
+    public BatchSolver(int threads, int stepsPerCell) {
+
+        this.threads = threads;
+        this.stepsPerCell = stepsPerCell;
+        this.solvers = ThreadLocal.withInitial(() -> new DancingLinks[Board.MAX_SIZE + 1]);
+        this.outcomeCounts = new long[Outcome.values().length];
+        this.latencies = new long[0];
+
+    }
+
+    /* GETTER */
+
+    /**
+     * Retrieves the number of puzzles processed by the last run.
+     *
+     * @return The number of input lines.
+     */
+    public int getPuzzleCount() {
+
+        return this.puzzleCount;
+
+    }
+
+    /**
+     * Retrieves the number of puzzles of the last run that have a unique solution.
+     *
+     * @return The number of solved puzzles.
+     */
+    public long getSolvedCount() {
+
+        return this.outcomeCounts[Outcome.SOLVED.ordinal()];
+
+    }
+
+    /**
+     * Retrieves the number of puzzles of the last run that have no solution.
+     *
+     * @return The number of unsolvable puzzles.
+     */
+    public long getNoSolutionCount() {
+
+        return this.outcomeCounts[Outcome.NO_SOLUTION.ordinal()];
+
+    }
+
+    /**
+     * Retrieves the number of puzzles of the last run that have more than one solution.
+     *
+     * @return The number of ambiguous puzzles.
+     */
+    public long getMultipleSolutionCount() {
+
+        return this.outcomeCounts[Outcome.MULTIPLE_SOLUTIONS.ordinal()];
+
+    }
+
+    /**
+     * Retrieves the number of puzzles of the last run whose search exceeded the step limit.
+     *
+     * @return The number of abandoned puzzles.
+     */
+    public long getTimeoutCount() {
+
+        return this.outcomeCounts[Outcome.TIMEOUT.ordinal()];
+
+    }
+
+    /**
+     * Retrieves the number of input lines of the last run that are no puzzle.
+     *
+     * @return The number of invalid lines.
+     */
+    public long getInvalidCount() {
+
+        return this.outcomeCounts[Outcome.INVALID.ordinal()];
+
+    }
+
+    /**
+     * Retrieves a percentile of the time a single puzzle took in the last run.
+     *
+     * @param percentile The percentile, ranging from 0 to 1.
+     * @return The latency in nanoseconds, zero if no puzzle was processed.
+     */
+    public long getLatencyPercentile(double percentile) {
+
+        if (this.puzzleCount == 0) {
+
+            return 0;
+
+        }
+
+        long[] sorted = Arrays.copyOf(this.latencies, this.puzzleCount);
+        Arrays.sort(sorted);
+
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+
+    }
+
+    /* GENERAL FUNCTIONS */
+
+    /**
+     * Solves all puzzles of a file and writes the results to another file.
+     *
+     * @param input  The file holding one puzzle per line.
+     * @param output The file to write, replaced if it exists.
+     * @throws IOException          If a file cannot be read or written, or a line is longer than the mapped window.
+     * @throws InterruptedException If the calling thread is interrupted while waiting for a chunk.
+     */
+    public void run(Path input, Path output) throws IOException, InterruptedException {
+
+        ExecutorService pool = Executors.newFixedThreadPool(this.threads);
+        ArrayDeque<Future<Chunk>> chunks = new ArrayDeque<>();
+        int maxInFlight = this.threads * CHUNKS_IN_FLIGHT_PER_THREAD;
+        Arrays.fill(this.outcomeCounts, 0);
+        this.puzzleCount = 0;
+
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ);
+             OutputStream writer = new BufferedOutputStream(Files.newOutputStream(output))) {
+
+            long fileSize = channel.size();
+            long position = 0;
+
+            while (position < fileSize) {
+
+                long length = Math.min(WINDOW_SIZE, fileSize - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int end = (int) length;
+
+                if (position + length < fileSize) {
+
+                    while (end > 0 && window.get(end - 1) != '\n') {
+
+                        end--;
+
+                    }
+
+                    if (end == 0) {
+
+                        throw new IOException("Line at byte " + position + " exceeds " + WINDOW_SIZE + " bytes");
+
+                    }
+
+                }
+
+                int[] starts = new int[CHUNK_SIZE];
+                int[] lengths = new int[CHUNK_SIZE];
+                int lineCount = 0;
+                int lineStart = 0;
+
+                for (int i = 0; i <= end; i++) {
+
+                    if (i < end && window.get(i) != '\n') {
+
+                        continue;
+
+                    }
+
+                    int lineEnd = i > lineStart && window.get(i - 1) == '\r' ? i - 1 : i;
+
+                    if (i < end || lineEnd > lineStart) {
+
+                        starts[lineCount] = lineStart;
+                        lengths[lineCount] = lineEnd - lineStart;
+                        lineCount++;
+
+                    }
+
+                    lineStart = i + 1;
+
+                    if (lineCount == CHUNK_SIZE || (i == end && lineCount > 0)) {
+
+                        if (chunks.size() >= maxInFlight) {
+
+                            write(chunks.removeFirst().get(), writer);
+
+                        }
+
+                        int[] chunkStarts = starts;
+                        int[] chunkLengths = lengths;
+                        int chunkCount = lineCount;
+                        chunks.addLast(pool.submit(() -> solveChunk(window, chunkStarts, chunkLengths, chunkCount)));
+                        starts = new int[CHUNK_SIZE];
+                        lengths = new int[CHUNK_SIZE];
+                        lineCount = 0;
+
+                    }
+
+                }
+
+                position += end;
+
+            }
+
+            while (!chunks.isEmpty()) {
+
+                write(chunks.removeFirst().get(), writer);
+
+            }
+
+        } catch (ExecutionException e) {
+
+            throw new IllegalStateException("Solving failed", e.getCause());
+
+        } finally {
+
+            pool.shutdownNow();
+
+        }
+
+    }
+
+    /* HELPER FUNCTIONS */
+
+    /**
+     * Writes the results of a chunk and adds its counts and latencies to the statistics of the run.
+     *
+     * @param chunk  The solved chunk.
+     * @param writer The output to append to.
+     * @throws IOException If the output cannot be written.
+     */
+    private void write(Chunk chunk, OutputStream writer) throws IOException {
+
+        writer.write(chunk.output());
+
+        for (int i = 0; i < this.outcomeCounts.length; i++) {
+
+            this.outcomeCounts[i] += chunk.outcomeCounts()[i];
+
+        }
+
+        int count = chunk.latencies().length;
+
+        if (this.puzzleCount + count > this.latencies.length) {
+
+            this.latencies = Arrays.copyOf(this.latencies, Math.max(2 * this.latencies.length,
+                    this.puzzleCount + count));
+
+        }
+
+        System.arraycopy(chunk.latencies(), 0, this.latencies, this.puzzleCount, count);
+        this.puzzleCount += count;
+
+    }
+
+    /**
+     * Solves a chunk of lines on the calling thread.
+     *
+     * @param buffer  The mapped input the lines are read from.
+     * @param starts  The offset of every line within the buffer.
+     * @param lengths The length of every line without its terminator.
+     * @param count   The number of lines.
+     * @return The output lines and statistics of the chunk.
+     */
+    private Chunk solveChunk(MappedByteBuffer buffer, int[] starts, int[] lengths, int count) {
+
+        DancingLinks[] solvers = this.solvers.get();
+        StringBuilder output = new StringBuilder(count * (lengths[0] + 1));
+        long[] latencies = new long[count];
+        long[] outcomeCounts = new long[Outcome.values().length];
+
+        for (int i = 0; i < count; i++) {
+
+            long startTime = System.nanoTime();
+            Outcome outcome;
+            byte[] grid = null;
+
+            try {
+
+                grid = PuzzleFormat.parse(buffer, starts[i], lengths[i]);
+                int size = PuzzleFormat.sizeOf(grid.length);
+
+                if (solvers[size] == null) {
+
+                    solvers[size] = new DancingLinks(size);
+
+                }
+
+                long stepLimit = (long) this.stepsPerCell * grid.length;
+                outcome = switch (solvers[size].solve(grid, 2, stepLimit)) {
+                    case -1 -> Outcome.TIMEOUT;
+                    case 0 -> Outcome.NO_SOLUTION;
+                    case 1 -> Outcome.SOLVED;
+                    default -> Outcome.MULTIPLE_SOLUTIONS;
+                };
+
+            } catch (IllegalArgumentException e) {
+
+                outcome = Outcome.INVALID;
+
+            }
+
+            output.append(outcome == Outcome.SOLVED ? PuzzleFormat.format(grid) : outcome.getLine());
+            output.append('\n');
+            outcomeCounts[outcome.ordinal()]++;
+            latencies[i] = System.nanoTime() - startTime;
+
+        }
+
+        return new Chunk(output.toString().getBytes(StandardCharsets.US_ASCII), latencies, outcomeCounts);
+
+    }
+
+    /**
+     * Holds the results of a single task.
+     *
+     * @param output        The output lines of the chunk as ASCII bytes.
+     * @param latencies     The time in nanoseconds every puzzle took.
+     * @param outcomeCounts The number of puzzles per {@link Outcome}, indexed by ordinal.
+     */
+    private record Chunk(byte[] output, long[] latencies, long[] outcomeCounts) {
+
+    }
+
+    /**
+     * The result of solving a single input line.
+     */
+    private enum Outcome {
+
+        /**
+         * The puzzle has a unique solution, which is written instead of a fixed line.
+         */
+        SOLVED(null),
+
+        /**
+         * The puzzle has no solution.
+         */
+        NO_SOLUTION("no solution"),
+
+        /**
+         * The puzzle has more than one solution.
+         */
+        MULTIPLE_SOLUTIONS("multiple solutions"),
+
+        /**
+         * The search exceeded the step limit before the number of solutions was known.
+         */
+        TIMEOUT("timeout"),
+
+        /**
+         * The line is blank or no puzzle of a supported size.
+         */
+        INVALID("invalid");
+
+        /**
+         * The line written for this outcome.
+         */
+        private final String line;
+
+        /**
+         * Constructs an outcome.
+         *
+         * @param line The line written for this outcome.
+         */
+        Outcome(String line) {
+
+            this.line = line;
+
+        }
+
+        /**
+         * Retrieves the line written for this outcome.
+         *
+         * @return The output line without terminator.
+         */
+        String getLine() {
+
+            return this.line;
+
+        }
+
+    }
+
+}
@@ -0,0 +1,373 @@
+package main.java.com.mms.main;
+
+import main.java.com.mms.bank.FingerprintSet;
+import main.java.com.mms.bank.PuzzleBankWriter;
+import main.java.com.mms.board.Board;
+import main.java.com.mms.board.GenerationControl;
+import main.java.com.mms.board.PuzzleCanonicalizer;
+import main.java.com.mms.board.PuzzleFormat;
+import main.java.com.mms.board.PuzzleGenerator;
+import main.java.com.mms.board.PuzzleTransform;
+import main.java.com.mms.solver.DifficultyRater;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Generates a bank of puzzles without a display, spreading the work over a pool of threads.
+ * The puzzles are generated in chunks; every worker thread reuses its own {@link Board}, so the threads share no
+ * mutable state. Every puzzle draws its random choices from its own {@link SplittableRandom}, seeded from the run
+ * seed and the index of the puzzle, so the same seed produces the same file on any number of threads.
+ * Finished chunks are written in submission order while only a bounded number of chunks is kept in
+ * memory, either as text with one puzzle per line in the format of {@link PuzzleFormat} or as a binary
+ * {@link PuzzleBankWriter puzzle bank} holding puzzles, solutions and the rating of every puzzle by the
+ * {@link DifficultyRater}.
+ * Optionally every generated puzzle is multiplied into several variants by random {@link PuzzleTransform
+ * transformations}, which keep the difficulty but cost only a copy of the board instead of a new search.
+ * Alternatively duplicates, including transformed copies of earlier puzzles, can be dropped: the workers compute a
+ * {@link PuzzleCanonicalizer canonical} fingerprint of every puzzle and the writer keeps the fingerprints written so
+ * far in an off-heap {@link FingerprintSet}, generating replacements until the requested count is reached.
+ * In minimal mode the difficulty is ignored and fields are removed until none can be removed anymore; the
+ * uniqueness checks of each puzzle are spread over a shared fork/join pool, so idle threads help with the puzzles
+ * still being dug. In both modes the time budget bounds the digging of a puzzle, which then keeps the fields
+ * removed so far.
+ */
+public class BulkGenerator {
+
+    /**
+     * The number of puzzles generated by a single task, rounded up to whole groups of variants.
+     */
+    private static final int CHUNK_SIZE = 64;
+
+    /**
+     * The number of chunks per thread that may be generated ahead of the writer.
+     */
+    private static final int CHUNKS_IN_FLIGHT_PER_THREAD = 4;
+
+    /**
+     * The number of duplicates in a row after which the grid size is considered exhausted.
+     */
+    private static final int MAX_CONSECUTIVE_DUPLICATES = 10000;
+
+    /**
+     * The number of puzzles to generate.
+     */
+    private final int count;
+
+    /**
+     * The size of the Sudoku grid (number of rows/columns in a subgrid).
+     */
+    private final int size;
+
+    /**
+     * The difficulty level of the puzzles, a double value ranging from 0 to 1.
+     */
+    private final double difficulty;
+
+    /**
+     * The number of worker threads.
+     */
+    private final int threads;
+
+    /**
+     * The time in milliseconds the removal of fields may take per puzzle.
+     */
+    private final long timeBudgetMillis;
+
+    /**
+     * The number of puzzles derived from every generated puzzle, including the puzzle itself.
+     */
+    private final int variants;
+
+    /**
+     * The number of puzzles generated by a single task, a multiple of the number of variants.
+     */
+    private final int chunkSize;
+
+    /**
+     * Indicates whether duplicate puzzles are dropped.
+     */
+    private final boolean dedup;
+
+    /**
+     * The seed all puzzles of a run are derived from.
+     */
+    private final long seed;
+
+    /**
+     * Indicates whether minimal puzzles are generated instead of puzzles of the given difficulty.
+     */
+    private final boolean minimal;
+
+    /**
+     * The board every worker thread reuses for its puzzles.
+     */
+    private final ThreadLocal<Board> boards;
+
+    /**
+     * The canonicalizer every worker thread reuses to fingerprint its puzzles.
+     */
+    private final ThreadLocal<PuzzleCanonicalizer> canonicalizers;
+
+    /**
+     * The rater every worker thread reuses to rate its puzzles for the bank.
+     */
+    private final ThreadLocal<DifficultyRater> raters;
+
+    /**
+     * The number of duplicate puzzles dropped by the last run.
+     */
+    private long duplicateCount;
+
+    /**
+     * Constructs a bulk generator.
+     *
+     * @param count            The number of puzzles to generate.
+     * @param size             The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @param difficulty       The difficulty level of the puzzles, a double value ranging from 0 to 1.
+     * @param threads          The number of worker threads.
+     * @param timeBudgetMillis The time in milliseconds the removal of fields may take per puzzle.
+     * @param variants         The number of puzzles derived from every generated puzzle, 1 to disable
+     *                         transformations.
+     * @param dedup            True to drop puzzles equal to or transformations of an earlier puzzle.
+     * @param seed             The seed all puzzles are derived from.
+     * @param minimal          True to remove fields until no field can be removed without losing uniqueness.
+     */
+    public BulkGenerator(int count, int size, double difficulty, int threads, long timeBudgetMillis, int variants,
+                         boolean dedup, long seed, boolean minimal) {
+
+        this.count = count;
+        this.size = size;
+        this.difficulty = difficulty;
+        this.threads = threads;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.variants = variants;
+        this.chunkSize = (CHUNK_SIZE + variants - 1) / variants * variants;
+        this.dedup = dedup;
+        this.seed = seed;
+        this.minimal = minimal;
+        this.boards = ThreadLocal.withInitial(() -> new Board(size));
+        this.canonicalizers = ThreadLocal.withInitial(() -> new PuzzleCanonicalizer(size));
+        this.raters = ThreadLocal.withInitial(() -> new DifficultyRater(size));
+
+    }
+
+    /* GETTER */
+
+    /**
+     * Retrieves the number of duplicate puzzles dropped by the last run.
+     *
+     * @return The number of dropped puzzles, zero if duplicates are kept.
+     */
+    public long getDuplicateCount() {
+
+        return this.duplicateCount;
+
+    }
+
+    /* GENERAL FUNCTIONS */
+
+    /**
+     * Generates all puzzles and writes them to a file.
+     *
+     * @param output The file to write, replaced if it exists.
+     * @param bank   True to write a binary puzzle bank, false to write one puzzle per line.
+     * @throws IOException          If the file cannot be written.
+     * @throws InterruptedException If the calling thread is interrupted while waiting for a chunk.
+     * @throws IllegalStateException If duplicates are dropped and no new puzzles can be found anymore.
+     */
+    public void run(Path output, boolean bank) throws IOException, InterruptedException {
+
+        ExecutorService pool = Executors.newFixedThreadPool(this.threads);
+        ForkJoinPool checkPool = this.minimal ? new ForkJoinPool(this.threads) : null;
+        ArrayDeque<Future<Chunk>> chunks = new ArrayDeque<>();
+        FingerprintSet fingerprints = this.dedup ? new FingerprintSet(this.count) : null;
+        int maxInFlight = this.threads * CHUNKS_IN_FLIGHT_PER_THREAD;
+        int written = 0;
+        int pending = 0;
+        long attempts = 0;
+        int consecutiveDuplicates = 0;
+        this.duplicateCount = 0;
+
+        try (BufferedWriter writer = bank ? null : Files.newBufferedWriter(output, StandardCharsets.US_ASCII);
+             PuzzleBankWriter bankWriter = bank ? PuzzleBankWriter.create(output, this.size, true) : null) {
+
+            while (written < this.count) {
+
+                while (written + pending < this.count && chunks.size() < maxInFlight) {
+
+                    long first = attempts;
+                    int chunkSize = Math.min(this.chunkSize, this.count - written - pending);
+                    chunks.addLast(pool.submit(() -> generateChunk(first, chunkSize, bank, checkPool)));
+                    pending += chunkSize;
+                    attempts += chunkSize;
+
+                }
+
+                Chunk chunk = chunks.removeFirst().get();
+                pending -= chunk.puzzles().length;
+
+                for (int i = 0; i < chunk.puzzles().length; i++) {
+
+                    if (fingerprints != null && !fingerprints.add(chunk.fingerprints()[i])) {
+
+                        this.duplicateCount++;
+                        consecutiveDuplicates++;
+
+                        if (consecutiveDuplicates >= MAX_CONSECUTIVE_DUPLICATES) {
+
+                            throw new IllegalStateException("Found no new puzzle in " + consecutiveDuplicates
+                                    + " attempts after " + written + " distinct puzzles");
+
+                        }
+
+                        continue;
+
+                    }
+
+                    consecutiveDuplicates = 0;
+
+                    if (bank) {
+
+                        bankWriter.append(chunk.puzzles()[i], chunk.solutions()[i], chunk.ratings()[i]);
+
+                    } else {
+
+                        writer.write(PuzzleFormat.format(chunk.puzzles()[i]));
+                        writer.newLine();
+
+                    }
+
+                    written++;
+
+                }
+
+            }
+
+        } catch (ExecutionException e) {
+
+            throw new IllegalStateException("Puzzle generation failed", e.getCause());
+
+        } finally {
+
+            pool.shutdownNow();
+
+            if (checkPool != null) {
+
+                checkPool.shutdownNow();
+
+            }
+
+        }
+
+    }
+
+    /* HELPER FUNCTIONS */
+
+    /**
+     * Generates a chunk of puzzles on the calling thread. Only every variants-th puzzle overall is generated, the
+     * others are random transformations of the first puzzle of their group and share its rating. If a group
+     * started in an earlier chunk, its first puzzle is generated again from its own seed, so every puzzle is the
+     * same however the run is cut into chunks.
+     *
+     * @param first     The index of the first puzzle of the chunk, counting all puzzles generated in the run.
+     * @param chunkSize The number of puzzles to generate.
+     * @param rate      True to rate the generated puzzles.
+     * @param checkPool The pool running the uniqueness checks of minimal puzzles, or null for puzzles of the
+     *                  configured difficulty.
+     * @return The puzzles and their solutions.
+     */
+    private Chunk generateChunk(long first, int chunkSize, boolean rate, ForkJoinPool checkPool) {
+
+        Board board = this.boards.get();
+        int cellCount = this.size * this.size * this.size * this.size;
+        Chunk chunk = new Chunk(new byte[chunkSize][cellCount], new byte[chunkSize][cellCount],
+                this.dedup ? new long[chunkSize] : null, new float[chunkSize]);
+
+        byte[] puzzle = new byte[cellCount];
+        byte[] solution = new byte[cellCount];
+        float rating = Float.NaN;
+
+        for (int i = 0; i < chunkSize; i++) {
+
+            long index = first + i;
+            long base = index - index % this.variants;
+
+            if (i == 0 || index == base) {
+
+                board.setRandom(new SplittableRandom(PuzzleGenerator.puzzleSeed(this.seed, base)));
+                board.generateBoard();
+                GenerationControl control = new GenerationControl(this.timeBudgetMillis, null);
+
+                if (checkPool != null) {
+
+                    board.generateMinimalPuzzle(checkPool, control);
+
+                } else {
+
+                    board.generateUniquePuzzle(this.difficulty, control);
+
+                }
+
+                board.copyValues(puzzle);
+                board.copySolution(solution);
+
+                if (rate) {
+
+                    rating = (float) this.raters.get().rate(puzzle).getScore();
+
+                }
+
+            }
+
+            if (index == base) {
+
+                System.arraycopy(puzzle, 0, chunk.puzzles()[i], 0, cellCount);
+                System.arraycopy(solution, 0, chunk.solutions()[i], 0, cellCount);
+
+            } else {
+
+                SplittableRandom random = new SplittableRandom(PuzzleGenerator.puzzleSeed(this.seed, index));
+                PuzzleTransform transform = PuzzleTransform.random(this.size, random);
+                transform.apply(puzzle, chunk.puzzles()[i]);
+                transform.apply(solution, chunk.solutions()[i]);
+
+            }
+
+            chunk.ratings()[i] = rating;
+
+            if (this.dedup) {
+
+                chunk.fingerprints()[i] = this.canonicalizers.get().fingerprint(chunk.puzzles()[i]);
+
+            }
+
+        }
+
+        return chunk;
+
+    }
+
+    /**
+     * Holds the puzzles generated by a single task.
+     *
+     * @param puzzles      The puzzles in row-major order, zero marking an empty cell.
+     * @param solutions    The solution of every puzzle.
+     * @param fingerprints The canonical fingerprint of every puzzle, or null if duplicates are kept.
+     * @param ratings      The rating score of every puzzle, NaN if the puzzles are not rated.
+     */
+    private record Chunk(byte[][] puzzles, byte[][] solutions, long[] fingerprints, float[] ratings) {
+
+    }
+
+}
@@ -1,21 +1,208 @@
 package main.java.com.mms.main;
 
+import main.java.com.mms.metrics.GeneratorMetrics;
 import main.java.com.mms.window.Window;
 
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
 /**
  * The entry point for the Sudoku game application.
+ * Without arguments the game window is opened; the argument "generate" followed by options produces a bank of
+ * puzzles without a display, and the argument "solve" solves a file of puzzles from outside sources.
  */
 public class Main {
 
     /**
-     * Initializes the Sudoku Game application by creating and displaying the game window.
+     * The usage message printed for invalid command line arguments.
+     */
+    private static final String USAGE = """
+            Usage:
+              java -jar java-sudoku.jar
+              java -jar java-sudoku.jar generate --count <n> --output <file> [--size <2-8>] [--difficulty <0-1>]
+                                                 [--threads <n>] [--time-budget <ms>] [--format <text|bank>]
+                                                 [--variants <n> | --dedup <true|false>] [--seed <n>]
+                                                 [--minimal <true|false>]
+              java -jar java-sudoku.jar solve --input <file> --output <file> [--threads <n>]
+                                              [--steps-per-cell <n>]
+            """;
+
+    /**
+     * Initializes the Sudoku Game application by creating and displaying the game window,
+     * or runs the headless bulk generation or batch solving if arguments are given.
+     * In every mode the generator metrics are registered with the platform MBean server first.
      *
-     * @param args Command-line arguments (not utilized in this application).
+     * @param args Command-line arguments, empty to open the game window.
      */
     public static void main(String[] args) {
 
-        new Window();
+        GeneratorMetrics.register();
+
+        if (args.length == 0) {
+
+            new Window();
+            return;
+
+        }
+
+        try {
+
+            switch (args[0]) {
+                case "generate" -> generate(parseOptions(args));
+                case "solve" -> solve(parseOptions(args));
+                default -> throw new IllegalArgumentException("Unknown mode: " + args[0]);
+            }
+
+        } catch (IllegalArgumentException e) {
+
+            System.err.println(e.getMessage());
+            System.err.print(USAGE);
+            System.exit(1);
+
+        } catch (Exception e) {
+
+            System.err.println(args[0] + " failed: " + e);
+            System.exit(1);
+
+        }
+
+    }
+
+    /**
+     * Generates a bank of puzzles as described by the options and reports the throughput.
+     *
+     * @param options The parsed command line options.
+     * @throws Exception If the puzzles cannot be generated or written.
+     */
+    private static void generate(Map<String, String> options) throws Exception {
+
+        int count = Integer.parseInt(require(options, "count"));
+        Path output = Path.of(require(options, "output"));
+        int size = Integer.parseInt(options.getOrDefault("size", "3"));
+        double difficulty = Double.parseDouble(options.getOrDefault("difficulty", "1.0"));
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                Integer.toString(Runtime.getRuntime().availableProcessors())));
+        long timeBudget = Long.parseLong(options.getOrDefault("time-budget", "10000"));
+        String format = options.getOrDefault("format", "text");
+        int variants = Integer.parseInt(options.getOrDefault("variants", "1"));
+        boolean dedup = Boolean.parseBoolean(options.getOrDefault("dedup", "false"));
+        long seed = options.containsKey("seed")
+                ? Long.parseLong(options.get("seed"))
+                : new SplittableRandom().nextLong();
+        boolean minimal = Boolean.parseBoolean(options.getOrDefault("minimal", "false"));
+
+        if (count < 1 || size < 2 || size > 8 || difficulty < 0 || difficulty > 1 || threads < 1 || variants < 1
+                || !(format.equals("text") || format.equals("bank"))) {
+
+            throw new IllegalArgumentException("Option out of range");
+
+        }
+
+        if (dedup && variants > 1) {
+
+            throw new IllegalArgumentException("--dedup would drop all variants");
+
+        }
+
+        long startTime = System.nanoTime();
+        BulkGenerator generator = new BulkGenerator(count, size, difficulty, threads, timeBudget, variants, dedup,
+                seed, minimal);
+        generator.run(output, format.equals("bank"));
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+
+        System.out.printf("Generated %d puzzles in %.2f s on %d threads (%.1f puzzles/s, seed %d)%n",
+                count, seconds, threads, count / seconds, seed);
+
+        if (dedup) {
+
+            System.out.printf("Dropped %d duplicates%n", generator.getDuplicateCount());
+
+        }
+
+    }
+
+    /**
+     * Solves a file of puzzles as described by the options and reports the throughput and latency.
+     *
+     * @param options The parsed command line options.
+     * @throws Exception If the puzzles cannot be read or the results cannot be written.
+     */
+    private static void solve(Map<String, String> options) throws Exception {
+
+        Path input = Path.of(require(options, "input"));
+        Path output = Path.of(require(options, "output"));
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                Integer.toString(Runtime.getRuntime().availableProcessors())));
+        int stepsPerCell = Integer.parseInt(options.getOrDefault("steps-per-cell",
+                Integer.toString(BatchSolver.DEFAULT_STEPS_PER_CELL)));
+
+        if (threads < 1 || stepsPerCell < 1) {
+
+            throw new IllegalArgumentException("Option out of range");
+
+        }
+
+        long startTime = System.nanoTime();
+        BatchSolver solver = new BatchSolver(threads, stepsPerCell);
+        solver.run(input, output);
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+
+        System.out.printf("Solved %d puzzles in %.2f s on %d threads (%.1f puzzles/s, p50 %.1f us, p99 %.1f us)%n",
+                solver.getPuzzleCount(), seconds, threads, solver.getPuzzleCount() / seconds,
+                solver.getLatencyPercentile(0.5) / 1e3, solver.getLatencyPercentile(0.99) / 1e3);
+        System.out.printf("%d unique, %d without solution, %d with multiple solutions, %d timed out, %d invalid%n",
+                solver.getSolvedCount(), solver.getNoSolutionCount(), solver.getMultipleSolutionCount(),
+                solver.getTimeoutCount(), solver.getInvalidCount());
+
+    }
+
+    /**
+     * Parses options of the form "--name value" following the mode argument.
+     *
+     * @param args Command-line arguments, the first one being the mode.
+     * @return The option values by name.
+     */
+    private static Map<String, String> parseOptions(String[] args) {
+
+        Map<String, String> options = new HashMap<>();
+
+        for (int i = 1; i < args.length; i += 2) {
+
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+
+                throw new IllegalArgumentException("Invalid option: " + args[i]);
+
+            }
+
+            options.put(args[i].substring(2), args[i + 1]);
+
+        }
+
+        return options;
+
+    }
+
+    /**
+     * Retrieves a mandatory option.
+     *
+     * @param options The parsed command line options.
+     * @param name    The name of the option.
+     * @return The value of the option.
+     */
+    private static String require(Map<String, String> options, String name) {
+
+        String value = options.get(name);
+
+        if (value == null) {
+
+            throw new IllegalArgumentException("Missing option: --" + name);
+
+        }
+
+        return value;
 
     }
 
-}
\ No newline at end of file
+}
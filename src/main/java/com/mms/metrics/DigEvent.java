@@ -0,0 +1,60 @@
+package main.java.com.mms.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Flight Recorder event covering the removal of fields from a filled board.
+ */
+@Name("com.mms.sudoku.Dig")
+@Label("Puzzle Dig")
+@Category({"Sudoku", "Generation"})
+@Description("Removes fields from a filled board while the puzzle stays solvable")
+public final class DigEvent extends Event {
+
+    /**
+     * The way fields are removed: "singles", "unique" or "minimal".
+     */
+    @Label("Mode")
+    String mode;
+
+    /**
+     * The size of the Sudoku grid (number of rows/columns in a subgrid).
+     */
+    @Label("Size")
+    int size;
+
+    /**
+     * The number of removals kept.
+     */
+    @Label("Accepted Removals")
+    int accepted;
+
+    /**
+     * The number of removals undone.
+     */
+    @Label("Rejected Removals")
+    int rejected;
+
+    /**
+     * The number of times naked singles were propagated to check a removal.
+     */
+    @Label("Propagation Passes")
+    int propagationPasses;
+
+    /**
+     * The number of solution counting searches started to check removals.
+     */
+    @Label("Solver Searches")
+    int solverSearches;
+
+    /**
+     * Indicates whether digging finished instead of being stopped by its deadline or a cancellation.
+     */
+    @Label("Finished")
+    boolean finished;
+
+}
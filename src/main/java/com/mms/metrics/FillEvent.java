@@ -0,0 +1,48 @@
+package main.java.com.mms.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Flight Recorder event covering the filling of a complete board.
+ */
+@Name("com.mms.sudoku.Fill")
+@Label("Board Fill")
+@Category({"Sudoku", "Generation"})
+@Description("Fills an empty board with a valid solution")
+public final class FillEvent extends Event {
+
+    /**
+     * The size of the Sudoku grid (number of rows/columns in a subgrid).
+     */
+    @Label("Size")
+    int size;
+
+    /**
+     * The number of attempts given up and started over.
+     */
+    @Label("Restarts")
+    int restarts;
+
+    /**
+     * The number of values placed, including those undone by backtracking.
+     */
+    @Label("Placements")
+    long placements;
+
+    /**
+     * The number of dead ends backtracked from.
+     */
+    @Label("Backtracks")
+    long backtracks;
+
+    /**
+     * Indicates whether the board was filled.
+     */
+    @Label("Filled")
+    boolean filled;
+
+}
@@ -0,0 +1,541 @@
+package main.java.com.mms.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects counters and latency histograms of puzzle generation and validation for the whole process.
+ * Every phase, filling a board, digging a puzzle and validating a board, is reported once when it ends, with the
+ * counts of its inner steps accumulated in local variables by the caller, so the inner loops carry no
+ * instrumentation. The counters are {@link LongAdder}s, so concurrent generator threads do not contend.
+ * Recording is disabled by default and enabled with the system property {@code sudoku.metrics=true} or through
+ * JMX; while disabled, a phase costs two volatile reads. Independently of this switch every phase is
+ * emitted as a Flight Recorder event ({@link FillEvent}, {@link DigEvent}, {@link ValidationEvent}), which costs
+ * nothing unless a recording enables it.
+ */
+public final class GeneratorMetrics implements GeneratorMetricsMBean {
+
+    /**
+     * The name the metrics are registered under with the platform MBean server.
+     */
+    public static final String OBJECT_NAME = "com.mms.sudoku:type=GeneratorMetrics";
+
+    /**
+     * The metrics of the process.
+     */
+    private static final GeneratorMetrics INSTANCE = new GeneratorMetrics(Boolean.getBoolean("sudoku.metrics"));
+
+    /**
+     * Indicates whether the counters and histograms are updated.
+     */
+    private volatile boolean enabled;
+
+    /**
+     * The number of boards filled.
+     */
+    private final LongAdder fills;
+
+    /**
+     * The number of fills stopped before the board was complete.
+     */
+    private final LongAdder stoppedFills;
+
+    /**
+     * The number of fill attempts given up and started over.
+     */
+    private final LongAdder restarts;
+
+    /**
+     * The number of values placed while filling.
+     */
+    private final LongAdder placements;
+
+    /**
+     * The number of dead ends backtracked from while filling.
+     */
+    private final LongAdder backtracks;
+
+    /**
+     * The number of puzzles dug.
+     */
+    private final LongAdder digs;
+
+    /**
+     * The number of digs stopped by their deadline or a cancellation.
+     */
+    private final LongAdder stoppedDigs;
+
+    /**
+     * The number of removals kept.
+     */
+    private final LongAdder acceptedRemovals;
+
+    /**
+     * The number of removals undone.
+     */
+    private final LongAdder rejectedRemovals;
+
+    /**
+     * The number of times naked singles were propagated to check a removal.
+     */
+    private final LongAdder propagationPasses;
+
+    /**
+     * The number of solution counting searches started to check removals.
+     */
+    private final LongAdder solverSearches;
+
+    /**
+     * The number of boards validated.
+     */
+    private final LongAdder validations;
+
+    /**
+     * The number of validated boards that broke the rules.
+     */
+    private final LongAdder invalidBoards;
+
+    /**
+     * The durations of filling a board, successful or not.
+     */
+    private final LatencyHistogram fillTime;
+
+    /**
+     * The durations of digging a puzzle.
+     */
+    private final LatencyHistogram digTime;
+
+    /**
+     * The durations of validating a board.
+     */
+    private final LatencyHistogram validationTime;
+
+    /**
+     * Constructs the metrics.
+     *
+     * @param enabled True to start recording right away.
+     */
+    private GeneratorMetrics(boolean enabled) {
+
+        this.enabled = enabled;
+        this.fills = new LongAdder();
+        this.stoppedFills = new LongAdder();
+        this.restarts = new LongAdder();
+        this.placements = new LongAdder();
+        this.backtracks = new LongAdder();
+        this.digs = new LongAdder();
+        this.stoppedDigs = new LongAdder();
+        this.acceptedRemovals = new LongAdder();
+        this.rejectedRemovals = new LongAdder();
+        this.propagationPasses = new LongAdder();
+        this.solverSearches = new LongAdder();
+        this.validations = new LongAdder();
+        this.invalidBoards = new LongAdder();
+        this.fillTime = new LatencyHistogram();
+        this.digTime = new LatencyHistogram();
+        this.validationTime = new LatencyHistogram();
+
+    }
+
+    /**
+     * Retrieves the metrics of the process.
+     *
+     * @return The shared metrics.
+     */
+    public static GeneratorMetrics get() {
+
+        return INSTANCE;
+
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server under {@link #OBJECT_NAME}, unless they are registered
+     * already.
+     *
+     * @throws IllegalStateException If the registration fails.
+     */
+    public static synchronized void register() {
+
+        try {
+
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+
+            if (!server.isRegistered(name)) {
+
+                server.registerMBean(INSTANCE, name);
+
+            }
+
+        } catch (JMException e) {
+
+            throw new IllegalStateException("Registering the generator metrics failed", e);
+
+        }
+
+    }
+
+    /* GETTER AND SETTER */
+
+    @Override
+    public boolean isEnabled() {
+
+        return this.enabled;
+
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+
+        this.enabled = enabled;
+
+    }
+
+    @Override
+    public long getFillCount() {
+
+        return this.fills.sum();
+
+    }
+
+    @Override
+    public long getStoppedFillCount() {
+
+        return this.stoppedFills.sum();
+
+    }
+
+    @Override
+    public long getRestartCount() {
+
+        return this.restarts.sum();
+
+    }
+
+    @Override
+    public long getPlacementCount() {
+
+        return this.placements.sum();
+
+    }
+
+    @Override
+    public long getBacktrackCount() {
+
+        return this.backtracks.sum();
+
+    }
+
+    @Override
+    public long getDigCount() {
+
+        return this.digs.sum();
+
+    }
+
+    @Override
+    public long getStoppedDigCount() {
+
+        return this.stoppedDigs.sum();
+
+    }
+
+    @Override
+    public long getAcceptedRemovalCount() {
+
+        return this.acceptedRemovals.sum();
+
+    }
+
+    @Override
+    public long getRejectedRemovalCount() {
+
+        return this.rejectedRemovals.sum();
+
+    }
+
+    @Override
+    public long getPropagationPassCount() {
+
+        return this.propagationPasses.sum();
+
+    }
+
+    @Override
+    public long getSolverSearchCount() {
+
+        return this.solverSearches.sum();
+
+    }
+
+    @Override
+    public long getValidationCount() {
+
+        return this.validations.sum();
+
+    }
+
+    @Override
+    public long getInvalidCount() {
+
+        return this.invalidBoards.sum();
+
+    }
+
+    @Override
+    public long getFillTimeMeanMicros() {
+
+        return this.fillTime.getMeanNanos() / 1000;
+
+    }
+
+    @Override
+    public long getFillTimeP50Micros() {
+
+        return this.fillTime.getPercentileNanos(0.5) / 1000;
+
+    }
+
+    @Override
+    public long getFillTimeP99Micros() {
+
+        return this.fillTime.getPercentileNanos(0.99) / 1000;
+
+    }
+
+    @Override
+    public long getDigTimeMeanMicros() {
+
+        return this.digTime.getMeanNanos() / 1000;
+
+    }
+
+    @Override
+    public long getDigTimeP50Micros() {
+
+        return this.digTime.getPercentileNanos(0.5) / 1000;
+
+    }
+
+    @Override
+    public long getDigTimeP99Micros() {
+
+        return this.digTime.getPercentileNanos(0.99) / 1000;
+
+    }
+
+    @Override
+    public long getValidationTimeMeanNanos() {
+
+        return this.validationTime.getMeanNanos();
+
+    }
+
+    @Override
+    public long getValidationTimeP99Nanos() {
+
+        return this.validationTime.getPercentileNanos(0.99);
+
+    }
+
+    /* GENERAL FUNCTIONS */
+
+    @Override
+    public void reset() {
+
+        for (LongAdder counter : new LongAdder[] {this.fills, this.stoppedFills, this.restarts, this.placements,
+                this.backtracks, this.digs, this.stoppedDigs, this.acceptedRemovals, this.rejectedRemovals,
+                this.propagationPasses, this.solverSearches, this.validations, this.invalidBoards}) {
+
+            counter.reset();
+
+        }
+
+        this.fillTime.reset();
+        this.digTime.reset();
+        this.validationTime.reset();
+
+    }
+
+    /**
+     * Starts timing a phase: returns the current time if recording is enabled.
+     *
+     * @return The value of {@link System#nanoTime()}, or zero while recording is disabled.
+     */
+    public long startTime() {
+
+        return this.enabled ? System.nanoTime() : 0;
+
+    }
+
+    /**
+     * Starts the Flight Recorder event of filling a board.
+     *
+     * @return The started event, to be passed to {@link #endFill}.
+     */
+    public FillEvent beginFill() {
+
+        FillEvent event = new FillEvent();
+        event.begin();
+
+        return event;
+
+    }
+
+    /**
+     * Records a finished or stopped fill.
+     *
+     * @param event      The event returned by {@link #beginFill()}.
+     * @param startTime  The value returned by {@link #startTime()} when the fill started.
+     * @param size       The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @param restarts   The number of attempts given up and started over.
+     * @param placements The number of values placed, including those undone.
+     * @param backtracks The number of dead ends backtracked from.
+     * @param filled     True if the board was filled, false if the fill was stopped.
+     */
+    public void endFill(FillEvent event, long startTime, int size, int restarts, long placements, long backtracks,
+                        boolean filled) {
+
+        if (this.enabled && startTime != 0) {
+
+            this.fillTime.record(System.nanoTime() - startTime);
+            (filled ? this.fills : this.stoppedFills).increment();
+            this.restarts.add(restarts);
+            this.placements.add(placements);
+            this.backtracks.add(backtracks);
+
+        }
+
+        event.end();
+
+        if (event.shouldCommit()) {
+
+            event.size = size;
+            event.restarts = restarts;
+            event.placements = placements;
+            event.backtracks = backtracks;
+            event.filled = filled;
+            event.commit();
+
+        }
+
+    }
+
+    /**
+     * Starts the Flight Recorder event of digging a puzzle.
+     *
+     * @return The started event, to be passed to {@link #endDig}.
+     */
+    public DigEvent beginDig() {
+
+        DigEvent event = new DigEvent();
+        event.begin();
+
+        return event;
+
+    }
+
+    /**
+     * Records a finished or stopped dig.
+     *
+     * @param event             The event returned by {@link #beginDig()}.
+     * @param startTime         The value returned by {@link #startTime()} when digging started.
+     * @param mode              The way fields are removed: "singles", "unique" or "minimal".
+     * @param size              The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @param accepted          The number of removals kept.
+     * @param rejected          The number of removals undone.
+     * @param propagationPasses The number of times naked singles were propagated.
+     * @param solverSearches    The number of solution counting searches started.
+     * @param finished          True if digging finished, false if it was stopped.
+     */
+    public void endDig(DigEvent event, long startTime, String mode, int size, int accepted, int rejected,
+                       int propagationPasses, int solverSearches, boolean finished) {
+
+        if (this.enabled && startTime != 0) {
+
+            this.digTime.record(System.nanoTime() - startTime);
+            this.digs.increment();
+
+            if (!finished) {
+
+                this.stoppedDigs.increment();
+
+            }
+
+            this.acceptedRemovals.add(accepted);
+            this.rejectedRemovals.add(rejected);
+            this.propagationPasses.add(propagationPasses);
+            this.solverSearches.add(solverSearches);
+
+        }
+
+        event.end();
+
+        if (event.shouldCommit()) {
+
+            event.mode = mode;
+            event.size = size;
+            event.accepted = accepted;
+            event.rejected = rejected;
+            event.propagationPasses = propagationPasses;
+            event.solverSearches = solverSearches;
+            event.finished = finished;
+            event.commit();
+
+        }
+
+    }
+
+    /**
+     * Starts the Flight Recorder event of validating a board.
+     *
+     * @return The started event, to be passed to {@link #endValidation}.
+     */
+    public ValidationEvent beginValidation() {
+
+        ValidationEvent event = new ValidationEvent();
+        event.begin();
+
+        return event;
+
+    }
+
+    /**
+     * Records a validation.
+     *
+     * @param event     The event returned by {@link #beginValidation()}.
+     * @param startTime The value returned by {@link #startTime()} when the validation started.
+     * @param size      The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @param valid     True if the board satisfies the rules, false otherwise.
+     */
+    public void endValidation(ValidationEvent event, long startTime, int size, boolean valid) {
+
+        if (this.enabled && startTime != 0) {
+
+            this.validationTime.record(System.nanoTime() - startTime);
+            this.validations.increment();
+
+            if (!valid) {
+
+                this.invalidBoards.increment();
+
+            }
+
+        }
+
+        event.end();
+
+        if (event.shouldCommit()) {
+
+            event.size = size;
+            event.valid = valid;
+            event.commit();
+
+        }
+
+    }
+
+}
@@ -0,0 +1,176 @@
+package main.java.com.mms.metrics;
+
+/**
+ * The management interface of the {@link GeneratorMetrics}, registered with the platform MBean server under
+ * {@link GeneratorMetrics#OBJECT_NAME}. Generation times are reported in microseconds, validation times in
+ * nanoseconds.
+ */
+public interface GeneratorMetricsMBean {
+
+    /**
+     * Checks whether the counters and histograms are updated.
+     *
+     * @return True if recording is enabled, false otherwise.
+     */
+    boolean isEnabled();
+
+    /**
+     * Enables or disables updating the counters and histograms. Flight Recorder events do not depend on this.
+     *
+     * @param enabled True to record, false to stop recording.
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Retrieves the number of boards filled.
+     *
+     * @return The number of successful fills.
+     */
+    long getFillCount();
+
+    /**
+     * Retrieves the number of fills stopped before the board was complete.
+     *
+     * @return The number of stopped fills.
+     */
+    long getStoppedFillCount();
+
+    /**
+     * Retrieves the number of fill attempts given up and started over.
+     *
+     * @return The number of restarts.
+     */
+    long getRestartCount();
+
+    /**
+     * Retrieves the number of values placed while filling, including those undone by backtracking.
+     *
+     * @return The number of placements.
+     */
+    long getPlacementCount();
+
+    /**
+     * Retrieves the number of dead ends backtracked from while filling.
+     *
+     * @return The number of backtracks.
+     */
+    long getBacktrackCount();
+
+    /**
+     * Retrieves the number of puzzles dug from filled boards.
+     *
+     * @return The number of digs, finished or stopped.
+     */
+    long getDigCount();
+
+    /**
+     * Retrieves the number of digs stopped by their deadline or a cancellation.
+     *
+     * @return The number of stopped digs.
+     */
+    long getStoppedDigCount();
+
+    /**
+     * Retrieves the number of removals kept.
+     *
+     * @return The number of accepted removals.
+     */
+    long getAcceptedRemovalCount();
+
+    /**
+     * Retrieves the number of removals undone because the puzzle would have lost its solvability.
+     *
+     * @return The number of rejected removals.
+     */
+    long getRejectedRemovalCount();
+
+    /**
+     * Retrieves the number of times naked singles were propagated to check a removal.
+     *
+     * @return The number of propagation passes.
+     */
+    long getPropagationPassCount();
+
+    /**
+     * Retrieves the number of solution counting searches started to check removals.
+     *
+     * @return The number of solver searches.
+     */
+    long getSolverSearchCount();
+
+    /**
+     * Retrieves the number of boards checked against the game's rules.
+     *
+     * @return The number of validations.
+     */
+    long getValidationCount();
+
+    /**
+     * Retrieves the number of checked boards that broke the game's rules.
+     *
+     * @return The number of invalid boards.
+     */
+    long getInvalidCount();
+
+    /**
+     * Retrieves the mean time of filling a board.
+     *
+     * @return The mean in microseconds.
+     */
+    long getFillTimeMeanMicros();
+
+    /**
+     * Retrieves the median time of filling a board.
+     *
+     * @return The upper bound of the median in microseconds.
+     */
+    long getFillTimeP50Micros();
+
+    /**
+     * Retrieves the 99th percentile of the time of filling a board.
+     *
+     * @return The upper bound of the percentile in microseconds.
+     */
+    long getFillTimeP99Micros();
+
+    /**
+     * Retrieves the mean time of digging a puzzle.
+     *
+     * @return The mean in microseconds.
+     */
+    long getDigTimeMeanMicros();
+
+    /**
+     * Retrieves the median time of digging a puzzle.
+     *
+     * @return The upper bound of the median in microseconds.
+     */
+    long getDigTimeP50Micros();
+
+    /**
+     * Retrieves the 99th percentile of the time of digging a puzzle.
+     *
+     * @return The upper bound of the percentile in microseconds.
+     */
+    long getDigTimeP99Micros();
+
+    /**
+     * Retrieves the mean time of a validation.
+     *
+     * @return The mean in nanoseconds.
+     */
+    long getValidationTimeMeanNanos();
+
+    /**
+     * Retrieves the 99th percentile of the time of a validation.
+     *
+     * @return The upper bound of the percentile in nanoseconds.
+     */
+    long getValidationTimeP99Nanos();
+
+    /**
+     * Sets all counters and histograms back to zero.
+     */
+    void reset();
+
+}
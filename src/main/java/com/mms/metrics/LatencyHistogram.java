@@ -0,0 +1,145 @@
+package main.java.com.mms.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts durations in buckets of powers of two, from one nanosecond up to the range of a long.
+ * Every bucket is a {@link LongAdder}, so threads recording at the same time do not contend, and a percentile is
+ * reported as the upper bound of the bucket it falls into, which is at most twice the exact value.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The number of recorded durations per bucket; bucket i holds the durations from 2^i to 2^(i + 1) - 1
+     * nanoseconds, bucket 0 also holds zero.
+     */
+    private final LongAdder[] buckets;
+
+    /**
+     * The sum of all recorded durations in nanoseconds.
+     */
+    private final LongAdder totalNanos;
+
+    /**
+     * Constructs an empty histogram.
+     */
+    public LatencyHistogram() {
+
+        this.buckets = new LongAdder[Long.SIZE];
+        this.totalNanos = new LongAdder();
+
+        for (int i = 0; i < this.buckets.length; i++) {
+
+            this.buckets[i] = new LongAdder();
+
+        }
+
+    }
+
+    /* GETTER */
+
+    /**
+     * Retrieves the number of recorded durations.
+     *
+     * @return The count of all buckets together.
+     */
+    public long getCount() {
+
+        long count = 0;
+
+        for (LongAdder bucket : this.buckets) {
+
+            count += bucket.sum();
+
+        }
+
+        return count;
+
+    }
+
+    /**
+     * Retrieves the mean of the recorded durations.
+     *
+     * @return The mean in nanoseconds, zero if nothing was recorded.
+     */
+    public long getMeanNanos() {
+
+        long count = getCount();
+
+        return count == 0 ? 0 : this.totalNanos.sum() / count;
+
+    }
+
+    /**
+     * Retrieves a percentile of the recorded durations.
+     *
+     * @param percentile The percentile, ranging from 0 to 1.
+     * @return The upper bound in nanoseconds of the bucket holding the percentile, zero if nothing was recorded.
+     */
+    public long getPercentileNanos(double percentile) {
+
+        long[] counts = new long[this.buckets.length];
+        long count = 0;
+
+        for (int i = 0; i < counts.length; i++) {
+
+            counts[i] = this.buckets[i].sum();
+            count += counts[i];
+
+        }
+
+        if (count == 0) {
+
+            return 0;
+
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile * count));
+
+        for (int i = 0; i < counts.length; i++) {
+
+            rank -= counts[i];
+
+            if (rank <= 0) {
+
+                return i == Long.SIZE - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+
+            }
+
+        }
+
+        return Long.MAX_VALUE;
+
+    }
+
+    /* GENERAL FUNCTIONS */
+
+    /**
+     * Records a duration. Negative durations are counted as zero.
+     *
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(long nanos) {
+
+        long duration = Math.max(0, nanos);
+        this.buckets[duration == 0 ? 0 : Long.SIZE - 1 - Long.numberOfLeadingZeros(duration)].increment();
+        this.totalNanos.add(duration);
+
+    }
+
+    /**
+     * Removes all recorded durations.
+     */
+    public void reset() {
+
+        for (LongAdder bucket : this.buckets) {
+
+            bucket.reset();
+
+        }
+
+        this.totalNanos.reset();
+
+    }
+
+}
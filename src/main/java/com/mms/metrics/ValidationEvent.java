@@ -0,0 +1,30 @@
+package main.java.com.mms.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Flight Recorder event covering the check of a filled board against the game's rules.
+ */
+@Name("com.mms.sudoku.Validation")
+@Label("Validation")
+@Category({"Sudoku", "Validation"})
+@Description("Checks a filled board against the rules of the game")
+public final class ValidationEvent extends Event {
+
+    /**
+     * The size of the Sudoku grid (number of rows/columns in a subgrid).
+     */
+    @Label("Size")
+    int size;
+
+    /**
+     * Indicates whether the board satisfies the rules.
+     */
+    @Label("Valid")
+    boolean valid;
+
+}
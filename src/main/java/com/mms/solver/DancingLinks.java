@@ -0,0 +1,612 @@
+package main.java.com.mms.solver;
+
+import main.java.com.mms.board.BoardGeometry;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Solves Sudoku puzzles of any supported size with Knuth's Dancing Links implementation of Algorithm X.
+ * A Sudoku is modelled as an exact cover problem: every candidate (cell, value) is a row covering four columns,
+ * one for the cell, one for the value in its row, one for the value in its column and one for the value in its
+ * subgrid. The whole matrix is built once per instance in preallocated int arrays; givens are covered before a
+ * search and uncovered afterwards, so solving many puzzles of the same size allocates nothing.
+ * Grids are passed as arrays of fullSize * fullSize values in row-major order, zero marking an empty cell.
+ * Because the value-in-unit constraints are columns as well, always branching on the smallest column applies hidden
+ * singles as naturally as naked singles, which also makes the solver a fast way to fill large empty grids at random.
+ * An instance is not thread-safe, every thread should use its own.
+ */
+public class DancingLinks {
+
+    /**
+     * The index of the root node, which links the headers of all uncovered columns.
+     */
+    private static final int ROOT = 0;
+
+    /**
+     * The layout of the boards this solver handles.
+     */
+    private final BoardGeometry geometry;
+
+    /**
+     * Represents the full size of the Sudoku board (size * size).
+     */
+    private final int fullSize;
+
+    /**
+     * The left neighbour of every node.
+     */
+    private final int[] left;
+
+    /**
+     * The right neighbour of every node.
+     */
+    private final int[] right;
+
+    /**
+     * The upper neighbour of every node.
+     */
+    private final int[] up;
+
+    /**
+     * The lower neighbour of every node.
+     */
+    private final int[] down;
+
+    /**
+     * The column header every node belongs to.
+     */
+    private final int[] column;
+
+    /**
+     * The candidate row every node belongs to, encoded as cell * fullSize + value - 1.
+     */
+    private final int[] candidate;
+
+    /**
+     * The number of nodes currently linked into every column, indexed by header node.
+     */
+    private final int[] columnSizes;
+
+    /**
+     * Marks the columns that are currently covered, indexed by header node.
+     */
+    private final boolean[] covered;
+
+    /**
+     * The first node of every candidate row.
+     */
+    private final int[] candidateNodes;
+
+    /**
+     * The nodes of the candidate rows selected on the current search path.
+     */
+    private final int[] selected;
+
+    /**
+     * The rows of the branching column at every depth, in the order they are tried.
+     */
+    private final int[] choices;
+
+    /**
+     * The number of solutions found by the running search.
+     */
+    private int solutionCount;
+
+    /**
+     * The number of solutions after which the running search stops.
+     */
+    private int solutionLimit;
+
+    /**
+     * Receives the first solution of the running search, or null if it is not needed.
+     */
+    private byte[] solution;
+
+    /**
+     * Shuffles the rows of every branching column in the running search, or null to try them in order.
+     */
+    private RandomGenerator random;
+
+    /**
+     * The number of search nodes after which the running search is abandoned.
+     */
+    private long stepLimit;
+
+    /**
+     * The number of search nodes visited by the running search.
+     */
+    private long stepCount;
+
+    /**
+     * Constructs a solver for boards of the given size and builds the exact cover matrix.
+     *
+     * @param size The size of the Sudoku grid (number of rows/columns in a subgrid).
+     */
+    public DancingLinks(int size) {
+
+        this.geometry = BoardGeometry.of(size);
+        this.fullSize = this.geometry.getFullSize();
+
+        int cellCount = this.geometry.getCellCount();
+        int columnCount = 4 * cellCount;
+        int candidateCount = cellCount * this.fullSize;
+        int nodeCount = 1 + columnCount + 4 * candidateCount;
+
+        this.left = new int[nodeCount];
+        this.right = new int[nodeCount];
+        this.up = new int[nodeCount];
+        this.down = new int[nodeCount];
+        this.column = new int[nodeCount];
+        this.candidate = new int[nodeCount];
+        this.columnSizes = new int[1 + columnCount];
+        this.covered = new boolean[1 + columnCount];
+        this.candidateNodes = new int[candidateCount];
+        this.selected = new int[cellCount];
+        this.choices = new int[cellCount * this.fullSize];
+
+        for (int header = 0; header <= columnCount; header++) {
+
+            this.left[header] = header == 0 ? columnCount : header - 1;
+            this.right[header] = header == columnCount ? 0 : header + 1;
+            this.up[header] = header;
+            this.down[header] = header;
+            this.column[header] = header;
+
+        }
+
+        int node = 1 + columnCount;
+        int[] headers = new int[4];
+
+        for (int cell = 0; cell < cellCount; cell++) {
+
+            for (int digit = 0; digit < this.fullSize; digit++) {
+
+                headers[0] = 1 + cell;
+                headers[1] = 1 + cellCount + this.geometry.row(cell) * this.fullSize + digit;
+                headers[2] = 1 + 2 * cellCount + this.geometry.column(cell) * this.fullSize + digit;
+                headers[3] = 1 + 3 * cellCount + this.geometry.box(cell) * this.fullSize + digit;
+
+                int first = node;
+                this.candidateNodes[cell * this.fullSize + digit] = first;
+
+                for (int k = 0; k < 4; k++) {
+
+                    int header = headers[k];
+
+                    this.column[node] = header;
+                    this.candidate[node] = cell * this.fullSize + digit;
+                    this.up[node] = this.up[header];
+                    this.down[node] = header;
+                    this.down[this.up[header]] = node;
+                    this.up[header] = node;
+                    this.columnSizes[header]++;
+
+                    this.left[node] = k == 0 ? first + 3 : node - 1;
+                    this.right[node] = k == 3 ? first : node + 1;
+                    node++;
+
+                }
+
+            }
+
+        }
+
+    }
+
+    /* GENERAL FUNCTIONS */
+
+    /**
+     * Solves a puzzle and writes the first solution found into the given grid.
+     *
+     * @param grid The puzzle to solve, zero marking empty cells. It is only modified if a solution exists.
+     * @return True if the puzzle has at least one solution, false otherwise.
+     */
+    public boolean solve(byte[] grid) {
+
+        return search(grid, 1, grid, null, Long.MAX_VALUE) > 0;
+
+    }
+
+    /**
+     * Solves a puzzle, writing the first solution found into the given grid, and counts its solutions up to a limit.
+     * Passing a limit of 2 solves and checks uniqueness in a single search.
+     *
+     * @param grid  The puzzle to solve, zero marking empty cells. It is only modified if a solution exists.
+     * @param limit The number of solutions after which the search stops.
+     * @return The number of solutions, at most the limit.
+     */
+    public int solve(byte[] grid, int limit) {
+
+        return search(grid, limit, grid, null, Long.MAX_VALUE);
+
+    }
+
+    /**
+     * Solves a puzzle like {@link #solve(byte[], int)}, abandoning the search once it has visited the given number
+     * of nodes.
+     *
+     * @param grid      The puzzle to solve, zero marking empty cells. It is only modified if a solution is found,
+     *                  which may happen before the search is abandoned.
+     * @param limit     The number of solutions after which the search stops.
+     * @param stepLimit The number of search nodes after which the search is abandoned.
+     * @return The number of solutions, at most the limit, or -1 if the search was abandoned.
+     */
+    public int solve(byte[] grid, int limit, long stepLimit) {
+
+        return search(grid, limit, grid, null, stepLimit);
+
+    }
+
+    /**
+     * Fills the empty cells of a grid with a random solution, trying the candidates of every branch in random
+     * order. Passing an empty grid generates a random complete board.
+     *
+     * @param grid      The grid to fill, zero marking empty cells. It is only modified if a solution is found.
+     * @param random    The random number generator deciding the order of the candidates.
+     * @param stepLimit The number of search nodes after which the search is abandoned.
+     * @return True if the grid was filled, false if it has no solution or the step limit was reached.
+     */
+    public boolean solveRandom(byte[] grid, RandomGenerator random, long stepLimit) {
+
+        return search(grid, 1, grid, random, stepLimit) > 0;
+
+    }
+
+    /**
+     * Counts the solutions of a puzzle, stopping as soon as the given limit is reached.
+     *
+     * @param grid  The puzzle to examine, zero marking empty cells. It is not modified.
+     * @param limit The number of solutions after which the search stops.
+     * @return The number of solutions, at most the limit.
+     */
+    public int countSolutions(byte[] grid, int limit) {
+
+        return search(grid, limit, null, null, Long.MAX_VALUE);
+
+    }
+
+    /**
+     * Counts the solutions of a puzzle, stopping as soon as the given limit is reached or the search has visited
+     * the given number of nodes.
+     *
+     * @param grid      The puzzle to examine, zero marking empty cells. It is not modified.
+     * @param limit     The number of solutions after which the search stops.
+     * @param stepLimit The number of search nodes after which the search is abandoned.
+     * @return The number of solutions, at most the limit, or -1 if the search was abandoned.
+     */
+    public int countSolutions(byte[] grid, int limit, long stepLimit) {
+
+        return search(grid, limit, null, null, stepLimit);
+
+    }
+
+    /**
+     * Checks whether a puzzle has exactly one solution. The search stops at the second solution found.
+     *
+     * @param grid The puzzle to examine, zero marking empty cells. It is not modified.
+     * @return True if the puzzle has a unique solution, false otherwise.
+     */
+    public boolean isUnique(byte[] grid) {
+
+        return countSolutions(grid, 2) == 1;
+
+    }
+
+    /* HELPER FUNCTIONS */
+
+    /**
+     * Covers the givens of a puzzle, runs the search and restores the matrix afterwards. All values are checked
+     * before the first given is covered, so a rejected grid leaves the matrix intact.
+     *
+     * @param grid      The puzzle to examine.
+     * @param limit     The number of solutions after which the search stops.
+     * @param solution  The array receiving the first solution, or null if it is not needed.
+     * @param random    The random number generator shuffling the branches, or null to try them in order.
+     * @param stepLimit The number of search nodes after which the search is abandoned.
+     * @return The number of solutions found, at most the limit, or -1 if the search was abandoned.
+     */
+    private int search(byte[] grid, int limit, byte[] solution, RandomGenerator random, long stepLimit) {
+
+        if (grid.length != this.geometry.getCellCount()) {
+
+            throw new IllegalArgumentException("Grid has " + grid.length + " cells, expected "
+                    + this.geometry.getCellCount());
+
+        }
+
+        for (int cell = 0; cell < grid.length; cell++) {
+
+            if (grid[cell] < 0 || grid[cell] > this.fullSize) {
+
+                throw new IllegalArgumentException("Invalid value " + grid[cell] + " in cell " + cell);
+
+            }
+
+        }
+
+        int givenCount = 0;
+        boolean consistent = true;
+
+        for (int cell = 0; cell < grid.length; cell++) {
+
+            int value = grid[cell];
+
+            if (value == 0) {
+
+                continue;
+
+            }
+
+            int node = this.candidateNodes[cell * this.fullSize + value - 1];
+
+            if (isBlocked(node)) {
+
+                consistent = false;
+                break;
+
+            }
+
+            selectRow(node);
+            this.selected[givenCount] = node;
+            givenCount++;
+
+        }
+
+        this.solutionCount = 0;
+        this.solutionLimit = limit;
+        this.solution = solution;
+        this.random = random;
+        this.stepLimit = stepLimit;
+        this.stepCount = 0;
+
+        if (consistent && limit > 0) {
+
+            search(givenCount);
+
+        }
+
+        for (int i = givenCount - 1; i >= 0; i--) {
+
+            deselectRow(this.selected[i]);
+
+        }
+
+        this.solution = null;
+        this.random = null;
+
+        return this.stepCount > this.stepLimit ? -1 : this.solutionCount;
+
+    }
+
+    /**
+     * Recursively searches for solutions, always branching on the column with the fewest remaining rows.
+     *
+     * @param depth The number of rows selected so far.
+     */
+    private void search(int depth) {
+
+        if (++this.stepCount > this.stepLimit) {
+
+            return;
+
+        }
+
+        if (this.right[ROOT] == ROOT) {
+
+            if (this.solutionCount == 0 && this.solution != null) {
+
+                for (int i = 0; i < depth; i++) {
+
+                    int candidate = this.candidate[this.selected[i]];
+                    this.solution[candidate / this.fullSize] = (byte) (candidate % this.fullSize + 1);
+
+                }
+
+            }
+
+            this.solutionCount++;
+            return;
+
+        }
+
+        int best = this.right[ROOT];
+
+        for (int header = this.right[best]; header != ROOT; header = this.right[header]) {
+
+            if (this.columnSizes[header] < this.columnSizes[best]) {
+
+                best = header;
+
+                if (this.columnSizes[best] <= 1) {
+
+                    break;
+
+                }
+
+            }
+
+        }
+
+        if (this.columnSizes[best] == 0) {
+
+            return;
+
+        }
+
+        cover(best);
+
+        int first = depth * this.fullSize;
+        int count = 0;
+
+        for (int node = this.down[best]; node != best; node = this.down[node]) {
+
+            this.choices[first + count] = node;
+            count++;
+
+        }
+
+        if (this.random != null) {
+
+            for (int i = count - 1; i > 0; i--) {
+
+                int j = first + this.random.nextInt(i + 1);
+                int node = this.choices[j];
+                this.choices[j] = this.choices[first + i];
+                this.choices[first + i] = node;
+
+            }
+
+        }
+
+        for (int i = 0; i < count; i++) {
+
+            int node = this.choices[first + i];
+            this.selected[depth] = node;
+
+            for (int other = this.right[node]; other != node; other = this.right[other]) {
+
+                cover(this.column[other]);
+
+            }
+
+            search(depth + 1);
+
+            for (int other = this.left[node]; other != node; other = this.left[other]) {
+
+                uncover(this.column[other]);
+
+            }
+
+            if (this.solutionCount >= this.solutionLimit || this.stepCount > this.stepLimit) {
+
+                break;
+
+            }
+
+        }
+
+        uncover(best);
+
+    }
+
+    /**
+     * Checks whether any column of a candidate row is already covered, meaning the candidate conflicts with a
+     * previously selected one.
+     *
+     * @param node The first node of the candidate row.
+     * @return True if the candidate cannot be selected, false otherwise.
+     */
+    private boolean isBlocked(int node) {
+
+        int current = node;
+
+        do {
+
+            if (this.covered[this.column[current]]) {
+
+                return true;
+
+            }
+
+            current = this.right[current];
+
+        } while (current != node);
+
+        return false;
+
+    }
+
+    /**
+     * Selects a candidate row by covering all of its columns.
+     *
+     * @param node The first node of the candidate row.
+     */
+    private void selectRow(int node) {
+
+        int current = node;
+
+        do {
+
+            cover(this.column[current]);
+            current = this.right[current];
+
+        } while (current != node);
+
+    }
+
+    /**
+     * Reverts {@link #selectRow(int)} by uncovering the columns of a candidate row in reverse order.
+     *
+     * @param node The first node of the candidate row.
+     */
+    private void deselectRow(int node) {
+
+        int current = this.left[node];
+
+        while (true) {
+
+            uncover(this.column[current]);
+
+            if (current == node) {
+
+                break;
+
+            }
+
+            current = this.left[current];
+
+        }
+
+    }
+
+    /**
+     * Removes a column from the header list and unlinks all rows intersecting it from their other columns.
+     *
+     * @param header The header node of the column.
+     */
+    private void cover(int header) {
+
+        this.right[this.left[header]] = this.right[header];
+        this.left[this.right[header]] = this.left[header];
+        this.covered[header] = true;
+
+        for (int row = this.down[header]; row != header; row = this.down[row]) {
+
+            for (int node = this.right[row]; node != row; node = this.right[node]) {
+
+                this.down[this.up[node]] = this.down[node];
+                this.up[this.down[node]] = this.up[node];
+                this.columnSizes[this.column[node]]--;
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Reverts {@link #cover(int)}, relinking the rows in the opposite order they were removed.
+     *
+     * @param header The header node of the column.
+     */
+    private void uncover(int header) {
+
+        for (int row = this.up[header]; row != header; row = this.up[row]) {
+
+            for (int node = this.left[row]; node != row; node = this.left[node]) {
+
+                this.columnSizes[this.column[node]]++;
+                this.down[this.up[node]] = node;
+                this.up[this.down[node]] = node;
+
+            }
+
+        }
+
+        this.right[this.left[header]] = header;
+        this.left[this.right[header]] = header;
+        this.covered[header] = false;
+
+    }
+
+}
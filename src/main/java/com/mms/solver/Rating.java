@@ -0,0 +1,113 @@
+package main.java.com.mms.solver;
+
+/**
+ * The result of rating a puzzle with the {@link DifficultyRater}: the hardest technique the puzzle needed, the
+ * resulting score and whether the known techniques were sufficient to solve it.
+ * Ratings are immutable.
+ */
+public final class Rating {
+
+    /**
+     * The score of puzzles the known techniques cannot solve, above the weight of every technique.
+     */
+    public static final double UNSOLVED_SCORE = 10.0;
+
+    /**
+     * The hardest technique applied, or null if the puzzle was already complete.
+     */
+    private final Technique hardest;
+
+    /**
+     * The number of technique applications, each placing a value or removing candidates.
+     */
+    private final int steps;
+
+    /**
+     * Indicates whether the puzzle was solved with the known techniques.
+     */
+    private final boolean solved;
+
+    /**
+     * Constructs a rating.
+     *
+     * @param hardest The hardest technique applied, or null if none was needed.
+     * @param steps   The number of technique applications.
+     * @param solved  True if the puzzle was solved, false if the techniques got stuck.
+     */
+    Rating(Technique hardest, int steps, boolean solved) {
+
+        this.hardest = hardest;
+        this.steps = steps;
+        this.solved = solved;
+
+    }
+
+    /* GETTER */
+
+    /**
+     * Retrieves the numeric rating: the weight of the hardest technique for solved puzzles and
+     * {@link #UNSOLVED_SCORE} for puzzles beyond the known techniques.
+     *
+     * @return The score, 0 for a complete board.
+     */
+    public double getScore() {
+
+        if (!this.solved) {
+
+            return UNSOLVED_SCORE;
+
+        }
+
+        return this.hardest == null ? 0 : this.hardest.getWeight();
+
+    }
+
+    /**
+     * Retrieves the hardest technique applied while solving.
+     *
+     * @return The hardest technique, or null if the puzzle was already complete.
+     */
+    public Technique getHardest() {
+
+        return this.hardest;
+
+    }
+
+    /**
+     * Retrieves the number of technique applications.
+     *
+     * @return The number of steps taken, counting every placement or elimination round.
+     */
+    public int getSteps() {
+
+        return this.steps;
+
+    }
+
+    /**
+     * Checks whether the puzzle was solved with the known techniques.
+     *
+     * @return True if solved, false if the puzzle needs harder techniques, guessing or has no solution.
+     */
+    public boolean isSolved() {
+
+        return this.solved;
+
+    }
+
+    /* GENERAL FUNCTIONS */
+
+    /**
+     * Describes the rating with its score and hardest technique.
+     *
+     * @return The rating as readable text.
+     */
+    @Override
+    public String toString() {
+
+        return String.format("%.1f (%s%s)", getScore(), this.hardest == null ? "none" : this.hardest,
+                this.solved ? "" : ", unsolved");
+
+    }
+
+}
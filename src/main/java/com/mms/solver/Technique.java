@@ -0,0 +1,85 @@
+package main.java.com.mms.solver;
+
+/**
+ * The human solving techniques known to the {@link DifficultyRater}, declared in the order of increasing cost.
+ * The weights follow the scale of the Sudoku Explainer, so a puzzle's rating is comparable to published ratings.
+ */
+public enum Technique {
+
+    /**
+     * A value has only one place left in a row, column or subgrid.
+     */
+    HIDDEN_SINGLE(1.2),
+
+    /**
+     * A cell has only one candidate left.
+     */
+    NAKED_SINGLE(2.3),
+
+    /**
+     * The candidates of a value in a subgrid lie in one row or column, or the candidates of a value in a row or
+     * column lie in one subgrid, so the value is removed from the rest of the other unit.
+     */
+    LOCKED_CANDIDATES(2.8),
+
+    /**
+     * Two cells of a unit share the same two candidates, which are removed from the other cells of the unit.
+     */
+    NAKED_PAIR(3.0),
+
+    /**
+     * The candidates of a value in two rows lie in the same two columns, or vice versa, so the value is removed
+     * from the rest of these columns.
+     */
+    X_WING(3.2),
+
+    /**
+     * Two values of a unit are restricted to the same two cells, which lose all other candidates.
+     */
+    HIDDEN_PAIR(3.4),
+
+    /**
+     * Three cells of a unit hold only three candidates together, which are removed from the other cells.
+     */
+    NAKED_TRIPLE(3.6),
+
+    /**
+     * The candidates of a value in three rows lie in the same three columns, or vice versa.
+     */
+    SWORDFISH(3.8),
+
+    /**
+     * Three values of a unit are restricted to the same three cells, which lose all other candidates.
+     */
+    HIDDEN_TRIPLE(4.0);
+
+    /**
+     * The difficulty of the technique.
+     */
+    private final double weight;
+
+    /**
+     * Constructs a technique.
+     *
+     * @param weight The difficulty of the technique.
+     */
+    Technique(double weight) {
+
+        this.weight = weight;
+
+    }
+
+    /* GETTER */
+
+    /**
+     * Retrieves the difficulty of the technique.
+     *
+     * @return The weight on the Sudoku Explainer scale.
+     */
+    public double getWeight() {
+
+        return this.weight;
+
+    }
+
+}
@@ -0,0 +1,508 @@
+package main.java.com.mms.window;
+
+import main.java.com.mms.board.BoardGeometry;
+import main.java.com.mms.board.ValidationModel;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+
+/**
+ * A single component showing the Sudoku grid of a game and taking the player's input.
+ * The cells are painted straight from the {@link ValidationModel} instead of being built from one Swing component
+ * per cell, so a new game only replaces the model and the grid never has to be laid out again.
+ * The digits are rendered once per cell size into images that are copied into the cells, and a change only
+ * repaints the cells whose appearance changes.
+ * A cell is selected with the mouse or the arrow keys; digits are typed into it, Backspace removes the last digit
+ * and Delete or Space empties it. Cells whose value occurs again in their row, column or subgrid are shown in red.
+ */
+public class GridView extends JComponent {
+
+    /**
+     * The version of the serialized form of the component.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The background of the player's cells.
+     */
+    private static final Color INPUT_COLOR = new Color(201, 207, 234);
+
+    /**
+     * The background of the selected cell.
+     */
+    private static final Color SELECTED_COLOR = new Color(160, 172, 222);
+
+    /**
+     * The background of cells whose value occurs again in their row, column or subgrid.
+     */
+    private static final Color CONFLICT_COLOR = new Color(255, 180, 180);
+
+    /**
+     * The model holding the values of the current game, or null before the first game.
+     */
+    private ValidationModel model;
+
+    /**
+     * The layout of the current board.
+     */
+    private BoardGeometry geometry;
+
+    /**
+     * The linear index of the selected cell.
+     */
+    private int selected;
+
+    /**
+     * The rendered digits of the givens, indexed by value.
+     */
+    private BufferedImage[] givenGlyphs;
+
+    /**
+     * The rendered digits of the player's values, indexed by value.
+     */
+    private BufferedImage[] inputGlyphs;
+
+    /**
+     * The cell size the glyphs were rendered for.
+     */
+    private int glyphCellSize;
+
+    /**
+     * Constructs an empty grid view; it shows nothing until a model is set.
+     */
+    public GridView() {
+
+        setPreferredSize(new Dimension(500, 500));
+        setFocusable(true);
+        addMouseListener(new MouseAdapter() {
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+
+                requestFocusInWindow();
+                int cell = cellAt(e.getX(), e.getY());
+
+                if (cell >= 0) {
+
+                    select(cell);
+
+                }
+
+            }
+
+        });
+        addKeyListener(new KeyAdapter() {
+
+            @Override
+            public void keyPressed(KeyEvent e) {
+
+                handleKey(e);
+
+            }
+
+            @Override
+            public void keyTyped(KeyEvent e) {
+
+                handleDigit(e.getKeyChar());
+
+            }
+
+        });
+
+    }
+
+    /* GETTER AND SETTER */
+
+    /**
+     * Retrieves the model shown by the grid.
+     *
+     * @return The model of the current game, or null before the first game.
+     */
+    public ValidationModel getModel() {
+
+        return this.model;
+
+    }
+
+    /**
+     * Shows the model of a new game. The glyphs are rendered again only if the grid size changed.
+     *
+     * @param model The model of the new game.
+     */
+    public void setModel(ValidationModel model) {
+
+        if (model == null) {
+
+            return;
+
+        }
+
+        if (this.geometry != model.getGeometry()) {
+
+            this.glyphCellSize = 0;
+
+        }
+
+        this.model = model;
+        this.geometry = model.getGeometry();
+        this.selected = 0;
+        repaint();
+
+    }
+
+    /* GENERAL FUNCTIONS */
+
+    /**
+     * Removes all entries of the player and repaints the grid.
+     */
+    public void clear() {
+
+        if (this.model == null) {
+
+            return;
+
+        }
+
+        this.model.clear();
+        repaint();
+
+    }
+
+    /**
+     * Paints the cells intersecting the clip area.
+     *
+     * @param g The graphics context to paint on.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, getWidth(), getHeight());
+
+        if (this.model == null) {
+
+            return;
+
+        }
+
+        int fullSize = this.geometry.getFullSize();
+        int cellSize = cellSize();
+        Rectangle clip = g.getClipBounds();
+
+        if (cellSize != this.glyphCellSize) {
+
+            renderGlyphs(cellSize);
+
+        }
+
+        for (int cell = 0; cell < this.geometry.getCellCount(); cell++) {
+
+            int x = position(cell % fullSize, cellSize);
+            int y = position(cell / fullSize, cellSize);
+
+            if (clip != null && !clip.intersects(x, y, cellSize, cellSize)) {
+
+                continue;
+
+            }
+
+            boolean given = this.model.isGiven(cell);
+
+            if (this.model.isConflicting(cell)) {
+
+                g.setColor(CONFLICT_COLOR);
+
+            } else if (cell == this.selected) {
+
+                g.setColor(SELECTED_COLOR);
+
+            } else {
+
+                g.setColor(given ? Color.WHITE : INPUT_COLOR);
+
+            }
+
+            g.fillRect(x, y, cellSize, cellSize);
+
+            int value = this.model.getValue(cell);
+
+            if (value != 0) {
+
+                g.drawImage(given ? this.givenGlyphs[value] : this.inputGlyphs[value], x, y, null);
+
+            }
+
+        }
+
+    }
+
+    /* HELPER FUNCTIONS */
+
+    /**
+     * Moves the selection with the arrow keys and empties or shortens the selected cell.
+     *
+     * @param e The pressed key.
+     */
+    private void handleKey(KeyEvent e) {
+
+        if (this.model == null) {
+
+            return;
+
+        }
+
+        int fullSize = this.geometry.getFullSize();
+        int row = this.selected / fullSize;
+        int column = this.selected % fullSize;
+
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_UP -> select(Math.max(0, row - 1) * fullSize + column);
+            case KeyEvent.VK_DOWN -> select(Math.min(fullSize - 1, row + 1) * fullSize + column);
+            case KeyEvent.VK_LEFT -> select(row * fullSize + Math.max(0, column - 1));
+            case KeyEvent.VK_RIGHT -> select(row * fullSize + Math.min(fullSize - 1, column + 1));
+            case KeyEvent.VK_BACK_SPACE -> enter(this.model.getValue(this.selected) / 10);
+            case KeyEvent.VK_DELETE, KeyEvent.VK_SPACE -> enter(0);
+            default -> {
+            }
+        }
+
+    }
+
+    /**
+     * Appends a typed digit to the value of the selected cell. If the longer value would exceed the grid, the
+     * digit replaces the value instead, so values above 9 are entered digit by digit.
+     *
+     * @param key The typed character.
+     */
+    private void handleDigit(char key) {
+
+        if (this.model == null || key < '0' || key > '9') {
+
+            return;
+
+        }
+
+        int digit = key - '0';
+        int value = this.model.getValue(this.selected) * 10 + digit;
+
+        if (value > this.geometry.getFullSize()) {
+
+            value = digit;
+
+        }
+
+        if (value >= 1 && value <= this.geometry.getFullSize()) {
+
+            enter(value);
+
+        }
+
+    }
+
+    /**
+     * Enters a value into the selected cell and repaints the cells whose conflict state may have changed.
+     * Only peers holding the previous or the new value can gain or lose a conflict.
+     *
+     * @param value The value to enter, zero to empty the cell.
+     */
+    private void enter(int value) {
+
+        int previous = this.model.getValue(this.selected);
+        this.model.setValue(this.selected, value);
+        value = this.model.getValue(this.selected);
+
+        if (value == previous) {
+
+            return;
+
+        }
+
+        repaintCell(this.selected);
+
+        for (int peer : this.geometry.peers(this.selected)) {
+
+            int peerValue = this.model.getValue(peer);
+
+            if (peerValue != 0 && (peerValue == previous || peerValue == value)) {
+
+                repaintCell(peer);
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Selects a cell and repaints the previously and the newly selected cell.
+     *
+     * @param cell The linear index of the cell.
+     */
+    private void select(int cell) {
+
+        repaintCell(this.selected);
+        this.selected = cell;
+        repaintCell(cell);
+
+    }
+
+    /**
+     * Finds the cell at a point of the component.
+     *
+     * @param x The horizontal coordinate.
+     * @param y The vertical coordinate.
+     * @return The linear index of the cell, or -1 if the point lies on a border or outside the grid.
+     */
+    private int cellAt(int x, int y) {
+
+        if (this.model == null) {
+
+            return -1;
+
+        }
+
+        int fullSize = this.geometry.getFullSize();
+        int cellSize = cellSize();
+
+        for (int row = 0; row < fullSize; row++) {
+
+            int top = position(row, cellSize);
+
+            if (y < top || y >= top + cellSize) {
+
+                continue;
+
+            }
+
+            for (int column = 0; column < fullSize; column++) {
+
+                int left = position(column, cellSize);
+
+                if (x >= left && x < left + cellSize) {
+
+                    return row * fullSize + column;
+
+                }
+
+            }
+
+        }
+
+        return -1;
+
+    }
+
+    /**
+     * Schedules the repaint of a single cell.
+     *
+     * @param cell The linear index of the cell.
+     */
+    private void repaintCell(int cell) {
+
+        int fullSize = this.geometry.getFullSize();
+        int cellSize = cellSize();
+        repaint(position(cell % fullSize, cellSize), position(cell / fullSize, cellSize), cellSize, cellSize);
+
+    }
+
+    /**
+     * Computes the width of the border between two cells; borders between subgrids are three times as wide.
+     *
+     * @return The gap in pixels.
+     */
+    private int cellGap() {
+
+        return this.geometry.getFullSize() > 9 ? 1 : 2;
+
+    }
+
+    /**
+     * Computes the size of a cell so the grid fills the smaller dimension of the component.
+     *
+     * @return The edge length of a cell in pixels.
+     */
+    private int cellSize() {
+
+        int size = this.geometry.getSize();
+        int fullSize = this.geometry.getFullSize();
+        int gap = cellGap();
+        int borders = (size + 1) * 3 * gap + (fullSize - size) * gap;
+
+        return Math.max(1, (Math.min(getWidth(), getHeight()) - borders) / fullSize);
+
+    }
+
+    /**
+     * Computes the offset of a row or column from the edge of the component.
+     *
+     * @param index    The index of the row or column.
+     * @param cellSize The edge length of a cell.
+     * @return The offset in pixels.
+     */
+    private int position(int index, int cellSize) {
+
+        int size = this.geometry.getSize();
+        int gap = cellGap();
+
+        return (1 + index / size) * 3 * gap + (index - index / size) * gap + index * cellSize;
+
+    }
+
+    /**
+     * Renders the digits of every value in both colours for a cell size.
+     *
+     * @param cellSize The edge length of a cell.
+     */
+    private void renderGlyphs(int cellSize) {
+
+        int fullSize = this.geometry.getFullSize();
+        Font font = getFont() == null ? new Font(Font.DIALOG, Font.PLAIN, 12) : getFont();
+        font = font.deriveFont(Math.min(25.0f, cellSize * 0.6f));
+
+        this.givenGlyphs = new BufferedImage[fullSize + 1];
+        this.inputGlyphs = new BufferedImage[fullSize + 1];
+
+        for (int value = 1; value <= fullSize; value++) {
+
+            this.givenGlyphs[value] = renderGlyph(Integer.toString(value), font, Color.BLACK, cellSize);
+            this.inputGlyphs[value] = renderGlyph(Integer.toString(value), font, Color.BLUE, cellSize);
+
+        }
+
+        this.glyphCellSize = cellSize;
+
+    }
+
+    /**
+     * Renders a text centered onto a transparent image the size of a cell.
+     *
+     * @param text     The text to render.
+     * @param font     The font of the text.
+     * @param color    The colour of the text.
+     * @param cellSize The edge length of a cell.
+     * @return The rendered image.
+     */
+    private BufferedImage renderGlyph(String text, Font font, Color color, int cellSize) {
+
+        BufferedImage glyph = new BufferedImage(cellSize, cellSize, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = glyph.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setFont(font);
+        g.setColor(color);
+
+        FontMetrics metrics = g.getFontMetrics();
+        int x = (cellSize - metrics.stringWidth(text)) / 2;
+        int y = (cellSize - metrics.getHeight()) / 2 + metrics.getAscent();
+        g.drawString(text, x, y);
+        g.dispose();
+
+        return glyph;
+
+    }
+
+}
@@ -0,0 +1,28 @@
+package main.java.com.mms.window;
+
+/**
+ * The screens of the game window, each shown by the {@link ScreenManager} in place of the others.
+ */
+public enum Screen {
+
+    /**
+     * The menu for game setup and start.
+     */
+    MENU,
+
+    /**
+     * The screen shown while a new puzzle is generated in the background.
+     */
+    LOADING,
+
+    /**
+     * The Sudoku grid with the game buttons.
+     */
+    GAME,
+
+    /**
+     * The message shown after a solution was submitted.
+     */
+    RESULT
+
+}
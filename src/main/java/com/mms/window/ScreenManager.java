@@ -0,0 +1,103 @@
+package main.java.com.mms.window;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.EnumMap;
+
+/**
+ * Holds exactly one panel per {@link Screen} of a frame and shows one of them at a time.
+ * The panels are registered once and switched with a {@link CardLayout}, so changing the screen never creates or
+ * attaches components and the memory held by the window stays the same however many games are played.
+ * Screens showing changing data are rebound by their owner before they are shown.
+ */
+public class ScreenManager {
+
+    /**
+     * The panel holding all screens as cards.
+     */
+    private final JPanel container;
+
+    /**
+     * The layout switching between the screens.
+     */
+    private final CardLayout layout;
+
+    /**
+     * The registered panel of every screen.
+     */
+    private final EnumMap<Screen, JComponent> screens;
+
+    /**
+     * The screen currently shown, or null before the first screen is shown.
+     */
+    private Screen current;
+
+    /**
+     * Constructs a screen manager and makes its container the content of a frame.
+     *
+     * @param frame The frame showing the screens.
+     */
+    public ScreenManager(JFrame frame) {
+
+        this.layout = new CardLayout();
+        this.container = new JPanel(this.layout);
+        this.screens = new EnumMap<>(Screen.class);
+        frame.setContentPane(this.container);
+
+    }
+
+    /* GETTER */
+
+    /**
+     * Retrieves the screen currently shown.
+     *
+     * @return The current screen, or null before the first screen is shown.
+     */
+    public Screen getCurrent() {
+
+        return this.current;
+
+    }
+
+    /* GENERAL FUNCTIONS */
+
+    /**
+     * Registers the panel of a screen. Every screen can be registered only once.
+     *
+     * @param screen    The screen.
+     * @param component The panel showing the screen.
+     * @throws IllegalStateException If a panel is already registered for the screen.
+     */
+    public void register(Screen screen, JComponent component) {
+
+        if (this.screens.containsKey(screen)) {
+
+            throw new IllegalStateException("Screen " + screen + " is already registered");
+
+        }
+
+        this.screens.put(screen, component);
+        this.container.add(component, screen.name());
+
+    }
+
+    /**
+     * Shows a screen in place of the current one.
+     *
+     * @param screen The screen to show.
+     * @throws IllegalStateException If no panel is registered for the screen.
+     */
+    public void show(Screen screen) {
+
+        if (!this.screens.containsKey(screen)) {
+
+            throw new IllegalStateException("Screen " + screen + " is not registered");
+
+        }
+
+        this.layout.show(this.container, screen.name());
+        this.current = screen;
+
+    }
+
+}
@@ -1,13 +1,22 @@
 package main.java.com.mms.window;
 
 import main.java.com.mms.board.Board;
+import main.java.com.mms.board.GenerationControl;
+import main.java.com.mms.board.GenerationListener;
+import main.java.com.mms.board.PuzzleCache;
+import main.java.com.mms.board.ValidationModel;
+import main.java.com.mms.board.Validator;
 
 import javax.swing.*;
-import javax.swing.text.NumberFormatter;
 import java.awt.*;
 import java.awt.event.KeyEvent;
-import java.text.NumberFormat;
-import java.text.ParseException;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 /**
  * The Window class represents the graphical user interface (GUI) for the Sudoku game.
@@ -15,15 +24,35 @@ import java.text.ParseException;
  */
 public class Window {
 
+    /**
+     * The time in milliseconds the removal of fields may take when a new puzzle is generated.
+     */
+    private static final long PUZZLE_TIME_BUDGET = 2000;
+
+    /**
+     * The file the ready puzzles are stored in between two runs of the game.
+     */
+    private static final Path CACHE_FILE = Path.of(System.getProperty("user.home"), ".java-sudoku-cache");
+
     /**
      * Represents the main frame of the Sudoku game.
      */
     private final JFrame window;
 
     /**
-     * Represents the panel containing the Sudoku grid.
+     * Shows one of the screens of the window, each of which is created only once.
      */
-    private JPanel grid;
+    private final ScreenManager screens;
+
+    /**
+     * Represents the panel containing the Sudoku grid and the game buttons. It is built once and reused by every game.
+     */
+    private final JPanel grid;
+
+    /**
+     * Represents the component painting the Sudoku grid and taking the player's input.
+     */
+    private final GridView gridView;
 
     /**
      * Represents the panel containing the menu for game setup and start.
@@ -31,19 +60,59 @@ public class Window {
     private final JPanel menu;
 
     /**
-     * Represents the matrix of panels forming the Sudoku grid cells.
+     * Represents the panel shown while a new puzzle is generated in the background.
      */
-    private JPanel[][] boardFields;
+    private final JPanel loading;
 
     /**
-     * Determines the number of rows/columns in a single subgrid.
+     * Represents the panel shown after a solution was submitted.
      */
-    private int size;
+    private final JPanel result;
+
+    /**
+     * Shows the headline of the result screen.
+     */
+    private final JLabel resultBanner;
+
+    /**
+     * Shows the player's nickname on the result screen.
+     */
+    private final JLabel resultNickname;
+
+    /**
+     * Shows the trophy or the failure image on the result screen.
+     */
+    private final JLabel resultImage;
+
+    /**
+     * Shows the player's nickname on the trophy; only visible after a successful submission.
+     */
+    private final JLabel resultTrophy;
+
+    /**
+     * Keeps pre-generated puzzles ready for every combination of size and difficulty.
+     */
+    private final PuzzleCache puzzleCache;
+
+    /**
+     * The background task generating the next puzzle, or null if no generation is running.
+     */
+    private SwingWorker<Board, Void> generator;
 
     /**
-     * Represents the full size of the Sudoku board (size * size).
+     * Bounds the running generation and allows cancelling it, or null if no generation is running.
      */
-    private int fullSize;
+    private GenerationControl generationControl;
+
+    /**
+     * Shows the share of fields already removed while a puzzle is generated.
+     */
+    private final JProgressBar progressBar;
+
+    /**
+     * Determines the number of rows/columns in a single subgrid.
+     */
+    private int size;
 
     /**
      * Represents the difficulty level of the Sudoku game. (Number between 0-1)
@@ -57,22 +126,67 @@ public class Window {
 
     /**
      * Default constructor for the Window class.
-     * Initializes default values for size, difficulty, and creates the window and menu.
+     * Initializes default values for size, difficulty, and creates the window and all of its screens.
+     * The screens live as long as the window and are only rebound to new data, so long sessions keep a constant
+     * number of components.
      */
     public Window() {
 
         this.size = 3;
-        this.fullSize = this.size * this.size;
         this.difficulty = 0.3;
 
+        this.puzzleCache = createPuzzleCache();
         this.window = createWindow();
+        this.screens = new ScreenManager(this.window);
         this.menu = createMenu();
-        this.window.add(menu);
+        this.progressBar = new JProgressBar();
+        this.loading = createLoadingScreen();
+        this.gridView = new GridView();
+        this.grid = createGrid();
+        this.resultBanner = createResultLabel(56.0f);
+        this.resultNickname = createResultLabel(56.0f);
+        this.resultImage = new JLabel();
+        this.resultTrophy = createResultLabel(10.0f);
+        this.result = createResultScreen();
+
+        this.screens.register(Screen.MENU, this.menu);
+        this.screens.register(Screen.LOADING, this.loading);
+        this.screens.register(Screen.GAME, this.grid);
+        this.screens.register(Screen.RESULT, this.result);
+        this.screens.show(Screen.MENU);
         this.window.revalidate();
         this.window.repaint();
 
     }
 
+    /**
+     * Creates the puzzle cache, restores the puzzles saved by the previous run and starts generating puzzles for
+     * the default settings in the background.
+     *
+     * @return The puzzle cache used to start new games.
+     */
+    private PuzzleCache createPuzzleCache() {
+
+        PuzzleCache puzzleCache = new PuzzleCache(PUZZLE_TIME_BUDGET);
+
+        if (Files.exists(CACHE_FILE)) {
+
+            try {
+
+                puzzleCache.load(CACHE_FILE);
+
+            } catch (IOException ignored) {
+
+            }
+
+        }
+
+        puzzleCache.prefetch(this.size, this.difficulty);
+
+        return puzzleCache;
+
+    }
+
     /**
      * Creates and configures the main JFrame window for the Sudoku game.
      * Sets window properties such as title, size, appearance, and default close operation.
@@ -89,6 +203,22 @@ public class Window {
         window.setResizable(false);
         window.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         window.setLocationRelativeTo(null);
+        window.addWindowListener(new WindowAdapter() {
+
+            @Override
+            public void windowClosing(WindowEvent e) {
+
+                try {
+
+                    puzzleCache.save(CACHE_FILE);
+
+                } catch (IOException ignored) {
+
+                }
+
+            }
+
+        });
 
         try {
 
@@ -107,114 +237,168 @@ public class Window {
     }
 
     /**
-     * Creates and initializes the graphical representation of the Sudoku grid within a JPanel.
-     * Sets up the board layout, generates the Sudoku puzzle, and prepares input fields or labels for each grid cell.
+     * Creates the panel shown while a puzzle is generated, containing a progress bar and a Cancel button.
      *
-     * @return The constructed JPanel containing the Sudoku grid and associated components.
+     * @return The JPanel representing the loading screen.
      */
-    private JPanel createGrid() {
+    private JPanel createLoadingScreen() {
 
-        Board board = new Board(size);
-        System.out.println("Generating Puzzle");
-        board.generateBoard();
-        board.generatePuzzle(this.difficulty);
-        System.out.println("Generated");
+        JPanel loading = new JPanel();
+        loading.setLayout(null);
 
-        JPanel body = new JPanel();
-        body.setVisible(false);
-        body.setLayout(new BoxLayout(body, BoxLayout.Y_AXIS));
-        body.setPreferredSize(new Dimension(500, 570));
+        JLabel loadingLabel = new JLabel("Generating Puzzle...", SwingConstants.CENTER);
+        loadingLabel.setBounds(0, 150, 484, 60);
+        loadingLabel.setFont(loadingLabel.getFont().deriveFont(Font.BOLD, 30.0f));
+        loading.add(loadingLabel);
 
-        JPanel boardLayout = new JPanel(new GridLayout(size, size, 6, 6));
-        boardLayout.setBackground(Color.BLACK);
-        boardLayout.setPreferredSize(new Dimension(500, 500));
+        this.progressBar.setBounds(60, 230, 364, 25);
+        loading.add(this.progressBar);
 
-        JPanel[][] segmentLayouts = new JPanel[this.size][this.size];
+        JButton cancelButton = new JButton("Cancel");
+        cancelButton.setBounds(182, 290, 120, 40);
+        cancelButton.setMnemonic(KeyEvent.VK_C);
+        cancelButton.addActionListener(e -> {
 
-        for (int i = 0; i < this.size; i++) {
+            if (this.generator != null) {
 
-            for (int j = 0; j < this.size; j++) {
-
-                segmentLayouts[i][j] = new JPanel(new GridLayout(size, size, 2, 2));
-                segmentLayouts[i][j].setBackground(Color.BLACK);
+                this.generationControl.cancel();
+                this.generator.cancel(true);
 
             }
 
-        }
+        });
+        loading.add(cancelButton);
 
-        this.boardFields = new JPanel[this.fullSize][this.fullSize];
+        return loading;
 
-        for (int i = 0; i < this.fullSize; i++) {
+    }
+
+    /**
+     * Generates a new puzzle on a background thread so the window stays responsive.
+     * The loading screen is shown until the puzzle is ready, then the grid shows the new puzzle.
+     * The progress bar stays busy while the board is filled and then shows the share of fields removed.
+     * After {@link #PUZZLE_TIME_BUDGET} the best puzzle dug so far is shown. If the generation is cancelled or no
+     * board could be filled in time, the given screen is shown again.
+     *
+     * @param previous The screen that is restored on cancellation.
+     */
+    private void startGeneration(Screen previous) {
+
+        if (this.generator != null) {
 
-            for (int j = 0; j < this.fullSize; j++) {
+            return;
 
-                JPanel fieldLayout = new JPanel(new GridLayout(1, 1));
-                fieldLayout.setBackground(Color.WHITE);
+        }
 
-                if (board.getValue(i, j) != 0) {
+        final int size = this.size;
+        final double difficulty = this.difficulty;
+        final GenerationControl control = new GenerationControl(PUZZLE_TIME_BUDGET, createProgressListener());
 
-                    JLabel label = new JLabel();
-                    label.setHorizontalAlignment(JLabel.CENTER);
-                    label.setFont(label.getFont().deriveFont(25.0f));
-                    label.setForeground(Color.BLACK);
-                    label.setText(Integer.toString(board.getValue(i, j)));
+        this.generationControl = control;
+        this.progressBar.setIndeterminate(true);
+        this.screens.show(Screen.LOADING);
 
-                    fieldLayout.add(label);
+        this.generator = new SwingWorker<>() {
 
-                } else {
+            @Override
+            protected Board doInBackground() {
 
-                    NumberFormat intFormat = NumberFormat.getIntegerInstance();
+                Board board = puzzleCache.take(size, difficulty, control);
 
-                    NumberFormatter numberFormatter = new NumberFormatter(intFormat) {
+                return board;
 
-                        @Override
-                        public Object stringToValue(String text) throws ParseException {
+            }
 
-                            if (text.isEmpty()) {
+            @Override
+            protected void done() {
 
-                                return null;
+                generator = null;
+                generationControl = null;
 
-                            }
+                try {
 
-                            return super.stringToValue(text);
+                    Board board = get();
 
-                        }
+                    if (board == null) {
 
-                    };
+                        screens.show(previous);
+                        return;
 
-                    numberFormatter.setValueClass(Integer.class);
-                    numberFormatter.setAllowsInvalid(true);
-                    numberFormatter.setMinimum(1);
-                    numberFormatter.setMaximum(this.fullSize);
+                    }
 
-                    JFormattedTextField input = new JFormattedTextField(numberFormatter);
-                    input.setFont(input.getFont().deriveFont(25.0f));
-                    input.setForeground(Color.BLUE);
-                    input.setBackground(new Color(201, 207, 234));
-                    input.setHorizontalAlignment(JTextField.CENTER);
-                    fieldLayout.add(input);
+                    gridView.setModel(new ValidationModel(board));
+                    screens.show(Screen.GAME);
+                    gridView.requestFocusInWindow();
 
-                }
+                } catch (CancellationException | InterruptedException | ExecutionException ex) {
 
-                boardFields[i][j] = fieldLayout;
+                    screens.show(previous);
 
-                segmentLayouts[i / this.size][j / this.size].add(fieldLayout);
+                }
 
             }
 
-        }
+        };
 
-        for (JPanel[] segmentLayoutRow : segmentLayouts) {
+        this.generator.execute();
 
-            for (JPanel segment : segmentLayoutRow) {
+    }
+
+    /**
+     * Creates the listener showing the share of removed fields in the progress bar of the loading screen.
+     * It is called on the generating thread and only hands a percentage to the event dispatch thread when it
+     * changes, so digging a large board does not flood the event queue.
+     *
+     * @return The listener for a single generation.
+     */
+    private GenerationListener createProgressListener() {
+
+        return new GenerationListener() {
 
-                boardLayout.add(segment);
+            /**
+             * The percentage shown last, -1 before the first removal.
+             */
+            private int shown = -1;
+
+            @Override
+            public void removed(int removedFields, int fieldsToRemove) {
+
+                int percentage = fieldsToRemove == 0 ? 100 : 100 * removedFields / fieldsToRemove;
+
+                if (percentage == this.shown) {
+
+                    return;
+
+                }
+
+                this.shown = percentage;
+                SwingUtilities.invokeLater(() -> {
+
+                    progressBar.setIndeterminate(false);
+                    progressBar.setValue(percentage);
+
+                });
 
             }
 
-        }
+        };
 
-        body.add(boardLayout);
+    }
+
+    /**
+     * Creates the panel holding the Sudoku grid and the game buttons.
+     * The panel is created once; a new game only passes its puzzle to the grid view, so no components are
+     * built or laid out per game.
+     *
+     * @return The constructed JPanel containing the Sudoku grid and associated components.
+     */
+    private JPanel createGrid() {
+
+        JPanel body = new JPanel();
+        body.setLayout(new BoxLayout(body, BoxLayout.Y_AXIS));
+        body.setPreferredSize(new Dimension(500, 570));
+
+        body.add(this.gridView);
 
         JPanel buttonLayout = createButtonLayout();
         body.add(buttonLayout);
@@ -259,25 +443,21 @@ public class Window {
         logoLabel.setFont(logoLabel.getFont().deriveFont(150.0f));
         login.add(logoLabel);
 
-        JButton two = new JButton("2x2");
-        two.setBounds(10, 235, 50, 50);
-        two.addActionListener(e -> {
+        for (int gridSize = 2; gridSize <= 6; gridSize++) {
 
-            this.size = 2;
-            this.fullSize = this.size * this.size;
+            final int buttonSize = gridSize;
+            JButton sizeButton = new JButton(gridSize + "x" + gridSize);
+            sizeButton.setMargin(new Insets(0, 0, 0, 0));
+            sizeButton.setBounds(10 + (gridSize - 2) * 60, 235, 50, 50);
+            sizeButton.addActionListener(e -> {
 
-        });
-        login.add(two);
-
-        JButton three = new JButton("3x3");
-        three.setBounds(70, 235, 50, 50);
-        three.addActionListener(e -> {
+                this.size = buttonSize;
+                this.puzzleCache.prefetch(this.size, this.difficulty);
 
-            this.size = 3;
-            this.fullSize = this.size * this.size;
+            });
+            login.add(sizeButton);
 
-        });
-        login.add(three);
+        }
 
         JLabel difficultyLabel = new JLabel("Difficulty");
         difficultyLabel.setBounds(10, 265, 400, 80);
@@ -289,7 +469,7 @@ public class Window {
         easyButton.addActionListener(e -> {
 
             difficulty = 0.3;
-            System.out.println(difficulty);
+            this.puzzleCache.prefetch(this.size, this.difficulty);
 
         });
         login.add(easyButton);
@@ -299,7 +479,7 @@ public class Window {
         middleButton.addActionListener(e -> {
 
             difficulty = 0.5;
-            System.out.println(difficulty);
+            this.puzzleCache.prefetch(this.size, this.difficulty);
 
         });
         login.add(middleButton);
@@ -309,7 +489,7 @@ public class Window {
         hardButton.addActionListener(e -> {
 
             difficulty = 1.0;
-            System.out.println(difficulty);
+            this.puzzleCache.prefetch(this.size, this.difficulty);
 
         });
         login.add(hardButton);
@@ -328,10 +508,7 @@ public class Window {
 
             }
 
-            this.menu.setVisible(false);
-            this.grid = createGrid();
-            this.window.add(grid);
-            this.grid.setVisible(true);
+            startGeneration(Screen.MENU);
 
         });
         login.add(startButton);
@@ -357,13 +534,7 @@ public class Window {
         newButton.setMnemonic(KeyEvent.VK_N);
         newButton.addActionListener(e -> {
 
-            this.window.remove(grid);
-            this.grid = createGrid();
-            this.window.add(grid);
-            this.grid.setVisible(true);
-            this.window.revalidate();
-            this.window.repaint();
-            System.out.println("New Game button pressed");
+            startGeneration(Screen.GAME);
 
         });
         buttonLayout.add(newButton);
@@ -373,60 +544,14 @@ public class Window {
         submitButton.setMnemonic(KeyEvent.VK_S);
         submitButton.addActionListener(e -> {
 
-            int[][] numberField = new int[this.fullSize][this.fullSize];
-            boolean success = true;
-
-            outer_loop: for (int i = 0; i < this.fullSize; i++) {
-
-                for (int j = 0; j < this.fullSize; j++) {
-
-                    Component component = this.boardFields[i][j].getComponents()[0];
-
-                    if (component instanceof JTextField textField) {
-
-                        try {
+            ValidationModel validation = this.gridView.getModel();
 
-                            numberField[i][j] = Integer.parseInt(textField.getText());
+            if (validation.isComplete()) {
 
-                        } catch (Exception ex) {
-
-                            success = false;
-                            break outer_loop;
-
-                        }
-
-                    } else if (component instanceof JLabel label) {
-
-                        numberField[i][j] = Integer.parseInt(label.getText());
-
-                    }
-
-                }
-
-            }
-            if (success) {
-
-                boolean valid = validator(numberField);
-                createMessage(valid);
-
-                if (valid) {
-
-                    System.out.println("Success");
-
-                } else {
-
-                    System.out.println("Failed");
-
-                }
-
-            } else {
-
-                System.out.println("Not filled out");
+                showResult(Validator.validate(validation));
 
             }
 
-            System.out.println("Submit button pressed");
-
         });
         buttonLayout.add(submitButton);
 
@@ -435,23 +560,7 @@ public class Window {
         clearButton.setMnemonic(KeyEvent.VK_C);
         clearButton.addActionListener(e -> {
 
-            System.out.println("Clear button pressed");
-
-            for (JPanel[] containerRow : this.boardFields) {
-
-                for (JPanel container : containerRow) {
-
-                    Component component = container.getComponents()[0];
-
-                    if (component instanceof JTextField textField) {
-
-                        textField.setText(null);
-
-                    }
-
-                }
-
-            }
+            this.gridView.clear();
 
         });
         buttonLayout.add(clearButton);
@@ -461,10 +570,7 @@ public class Window {
         exitButton.setMnemonic(KeyEvent.VK_E);
         exitButton.addActionListener(e -> {
 
-            this.grid.setVisible(false);
-            this.menu.setVisible(true);
-            this.window.revalidate();
-            this.window.repaint();
+            this.screens.show(Screen.MENU);
 
         });
         buttonLayout.add(exitButton);
@@ -474,30 +580,23 @@ public class Window {
     }
 
     /**
-     * Generates a message panel based on the validation of the submitted Sudoku solution.
-     * Displays a message indicating success or failure upon checking the solution.
-     * Allows the user to view the game, start a new game, or exit back to the menu.
+     * Creates the panel shown after a solution was submitted.
+     * The panel is created once and allows the user to view the game, start a new game, or exit back to the menu;
+     * its labels are filled by {@link #showResult(boolean)}.
      *
-     * @param valid Indicates whether the submitted Sudoku solution is valid (true for success, false for failure).
+     * @return The JPanel representing the result screen.
      */
-    private void createMessage(boolean valid) {
+    private JPanel createResultScreen() {
 
         JPanel message = new JPanel();
         message.setLayout(null);
 
-        String bannerMessage;
-        String bannerImage;
-
         JButton exitGame = new JButton("Exit Game");
         exitGame.setBounds(320, 195, 120, 40);
         exitGame.setMnemonic(KeyEvent.VK_E);
         exitGame.addActionListener(e -> {
 
-            this.window.remove(message);
-            this.menu.setVisible(true);
-            this.window.revalidate();
-            this.window.repaint();
-            System.out.println("Exit Game button pressed");
+            this.screens.show(Screen.MENU);
 
         });
 
@@ -506,11 +605,7 @@ public class Window {
         viewGame.setMnemonic(KeyEvent.VK_V);
         viewGame.addActionListener(e -> {
 
-            this.window.remove(message);
-            this.grid.setVisible(true);
-            this.window.revalidate();
-            this.window.repaint();
-            System.out.println("View Game button pressed");
+            this.screens.show(Screen.GAME);
 
         });
         message.add(viewGame);
@@ -520,119 +615,70 @@ public class Window {
         newGame.setMnemonic(KeyEvent.VK_N);
         newGame.addActionListener(e -> {
 
-            this.window.remove(message);
-            this.grid = createGrid();
-            this.window.add(grid);
-            this.grid.setVisible(true);
-            this.window.revalidate();
-            this.window.repaint();
-            System.out.println("New Game button pressed");
+            startGeneration(Screen.GAME);
 
         });
 
-        if (valid) {
+        this.resultTrophy.setBounds(210, 462, 50, 80);
+        message.add(this.resultTrophy);
 
-            bannerMessage = "Congratulations ";
-            bannerImage = ("\uD83C\uDFC6");
+        this.resultBanner.setBounds(0, 10, 500, 80);
+        message.add(this.resultBanner);
 
-            JLabel trophyLabel = new JLabel(nickname, SwingConstants.CENTER);
-            trophyLabel.setBounds(210, 462, 50, 80);
-            trophyLabel.setFont(trophyLabel.getFont().deriveFont(Font.BOLD, 10.0f));
-            message.add(trophyLabel);
+        this.resultNickname.setBounds(0, 100, 500, 60);
+        message.add(this.resultNickname);
 
-        } else {
-
-            bannerMessage = "You Failed";
-            bannerImage = ("\uD83D\uDE31");
-
-        }
-
-        JLabel commitMessage = new JLabel(bannerMessage, SwingConstants.CENTER);
-        commitMessage.setBounds(0, 10, 500, 80);
-        commitMessage.setFont(commitMessage.getFont().deriveFont(Font.BOLD,56.0f));
-        message.add(commitMessage);
-
-        JLabel nicknameMessage = new JLabel(nickname, SwingConstants.CENTER);
-        nicknameMessage.setFont(nicknameMessage.getFont().deriveFont(Font.BOLD,56.0f));
-        nicknameMessage.setBounds(0, 100, 500, 60);
-        message.add(nicknameMessage);
-
-        JLabel imageMessage = new JLabel(bannerImage);
-        imageMessage.setFont(imageMessage.getFont().deriveFont(300.0f));
-        imageMessage.setBounds(87, 100, 500, 570);
-        message.add(imageMessage);
+        this.resultImage.setFont(this.resultImage.getFont().deriveFont(300.0f));
+        this.resultImage.setBounds(87, 100, 500, 570);
+        message.add(this.resultImage);
 
         message.add(exitGame);
         message.add(newGame);
 
-        this.grid.setVisible(false);
-        this.window.add(message);
-        this.window.revalidate();
-        this.window.repaint();
+        return message;
 
     }
 
     /**
-     * Validates the Sudoku solution by checking if the number field meets the game's rules.
-     * (no repeated numbers in rows, columns, or sub-grids)
+     * Creates a bold, centered label of the result screen.
      *
-     * @param numberField 2D array representing the Sudoku board with values to be validated.
-     * @return True if the provided number field adheres to Sudoku rules, false otherwise.
+     * @param fontSize The size of the label's font.
+     * @return The created label.
      */
-    private boolean validator(int[][] numberField) {
-
-        for (int i = 0; i < this.fullSize; i++) {
+    private JLabel createResultLabel(float fontSize) {
 
-            for (int j = 0; j < this.fullSize; j++) {
+        JLabel label = new JLabel("", SwingConstants.CENTER);
+        label.setFont(label.getFont().deriveFont(Font.BOLD, fontSize));
 
-                int value = numberField[i][j];
-                numberField[i][j] = -1;
-
-                for (int number : numberField[i]) {
-
-                    if (number == value){
-                        return false;
-                    }
+        return label;
 
-                }
-
-                for (int k = 0; k < this.fullSize; k++) {
-
-                    int number = numberField[k][j];
-
-                    if (number == value) {
-
-                        return false;
-
-                    }
-                }
-
-                int x = j - (j % this.size);
-                int y = i - (i % this.size);
-
-                for (int k = 0; k < this.size; k++) {
-
-                    for (int l = 0; l < this.size; l++) {
-
-                        int number = numberField[k + y][l + x];
-
-                        if (number == value) {
+    }
 
-                            return false;
+    /**
+     * Shows the result screen based on the validation of the submitted Sudoku solution.
+     * Displays a message indicating success or failure upon checking the solution.
+     *
+     * @param valid Indicates whether the submitted Sudoku solution is valid (true for success, false for failure).
+     */
+    private void showResult(boolean valid) {
 
-                        }
+        if (valid) {
 
-                    }
+            this.resultBanner.setText("Congratulations ");
+            this.resultImage.setText("\uD83C\uDFC6");
 
-                }
-                numberField[i][j] = value;
+        } else {
 
-            }
+            this.resultBanner.setText("You Failed");
+            this.resultImage.setText("\uD83D\uDE31");
 
         }
 
-        return true;
+        this.resultNickname.setText(nickname);
+        this.resultTrophy.setText(nickname);
+        this.resultTrophy.setVisible(valid);
+        this.screens.show(Screen.RESULT);
 
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,195 @@
+package main.java.com.mms.bank;
+
+import main.java.com.mms.board.Board;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that puzzles written by the {@link PuzzleBankWriter} are read back unchanged by the
+ * {@link PuzzleBankReader}.
+ */
+class PuzzleBankTest {
+
+    /**
+     * The batch size of the writers, small so the banks end with a partially filled batch.
+     */
+    private static final int BATCH_SIZE = 4;
+
+    /**
+     * The number of puzzles written per bank: two full batches and a partial one.
+     */
+    private static final int COUNT = 2 * BATCH_SIZE + 3;
+
+    /**
+     * The directory holding the bank files of a test.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Writes puzzles with difficulty metadata and reads every record back, including the last one of the partial
+     * batch, for every size whose values take a different number of bits.
+     *
+     * @param size The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @throws IOException If the bank cannot be written or read.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 4, 5})
+    void roundTripsAllRecords(int size) throws IOException {
+
+        Path file = this.directory.resolve("bank-" + size);
+        byte[][] puzzles = new byte[COUNT][];
+        byte[][] solutions = new byte[COUNT][];
+
+        try (PuzzleBankWriter writer = new PuzzleBankWriter(file, size, true, BATCH_SIZE)) {
+
+            for (int i = 0; i < COUNT; i++) {
+
+                Board board = generate(size, i);
+                puzzles[i] = values(board);
+                solutions[i] = solution(board);
+                writer.append(puzzles[i], solutions[i], i / 4.0f);
+
+            }
+
+        }
+
+        try (PuzzleBankReader reader = new PuzzleBankReader(file)) {
+
+            assertEquals(COUNT, reader.getCount());
+            assertEquals(size, reader.getSize());
+            assertTrue(reader.hasDifficulty());
+
+            byte[] puzzle = new byte[puzzles[0].length];
+            byte[] solution = new byte[puzzles[0].length];
+
+            for (int i = 0; i < COUNT; i++) {
+
+                reader.readPuzzle(i, puzzle);
+                reader.readSolution(i, solution);
+                assertArrayEquals(puzzles[i], puzzle, "puzzle " + i);
+                assertArrayEquals(solutions[i], solution, "solution " + i);
+                assertEquals(i / 4.0f, reader.getDifficulty(i));
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Continues an existing bank without difficulty metadata and reads the old and the new records.
+     *
+     * @throws IOException If the bank cannot be written or read.
+     */
+    @Test
+    void continuesExistingBank() throws IOException {
+
+        Path file = this.directory.resolve("bank");
+        Board first = generate(3, 0);
+        Board second = generate(3, 1);
+
+        try (PuzzleBankWriter writer = PuzzleBankWriter.create(file, 3, false)) {
+
+            writer.append(first, 0);
+
+        }
+
+        try (PuzzleBankWriter writer = new PuzzleBankWriter(file, 3, false)) {
+
+            assertEquals(1, writer.getCount());
+            writer.append(second, 0);
+
+        }
+
+        try (PuzzleBankReader reader = new PuzzleBankReader(file)) {
+
+            byte[] puzzle = new byte[81];
+
+            assertEquals(2, reader.getCount());
+            reader.readPuzzle(0, puzzle);
+            assertArrayEquals(values(first), puzzle);
+            reader.readPuzzle(1, puzzle);
+            assertArrayEquals(values(second), puzzle);
+            assertTrue(Float.isNaN(reader.getDifficulty(1)));
+
+        }
+
+    }
+
+    /**
+     * Refuses to continue a bank of a different size.
+     *
+     * @throws IOException If the bank cannot be created.
+     */
+    @Test
+    void rejectsBankOfDifferentSize() throws IOException {
+
+        Path file = this.directory.resolve("bank");
+        PuzzleBankWriter.create(file, 3, true).close();
+
+        assertThrows(IOException.class, () -> new PuzzleBankWriter(file, 4, true));
+
+    }
+
+    /* HELPER FUNCTIONS */
+
+    /**
+     * Generates a reproducible puzzle.
+     *
+     * @param size The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @param seed The seed of the puzzle.
+     * @return A board holding the puzzle and its solution.
+     */
+    private static Board generate(int size, long seed) {
+
+        Board board = new Board(size, new SplittableRandom(seed));
+        board.generateBoard();
+        board.generatePuzzle(0.5);
+
+        return board;
+
+    }
+
+    /**
+     * Copies the puzzle of a board.
+     *
+     * @param board The board holding the puzzle.
+     * @return The cell values, zero marking an empty cell.
+     */
+    private static byte[] values(Board board) {
+
+        byte[] values = new byte[board.getSize() * board.getSize() * board.getSize() * board.getSize()];
+        board.copyValues(values);
+
+        return values;
+
+    }
+
+    /**
+     * Copies the solution of a board.
+     *
+     * @param board The board holding the solution.
+     * @return The cell values of the solution.
+     */
+    private static byte[] solution(Board board) {
+
+        byte[] solution = new byte[board.getSize() * board.getSize() * board.getSize() * board.getSize()];
+        board.copySolution(solution);
+
+        return solution;
+
+    }
+
+}
@@ -0,0 +1,122 @@
+package main.java.com.mms.board;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Tests that the {@link PuzzleCanonicalizer} maps transformed copies of a puzzle to the same canonical form.
+ */
+class PuzzleCanonicalizerTest {
+
+    /**
+     * The number of random transformations applied to every puzzle.
+     */
+    private static final int TRANSFORM_COUNT = 50;
+
+    /**
+     * Canonicalizes random transformations of 9x9 puzzles, which cover every symmetry including transpositions.
+     */
+    @Test
+    void canonicalFormIsInvariantUnderRandomTransforms() {
+
+        PuzzleCanonicalizer canonicalizer = new PuzzleCanonicalizer(3);
+        SplittableRandom random = new SplittableRandom(1);
+        byte[] transformed = new byte[81];
+
+        for (int seed = 0; seed < 5; seed++) {
+
+            byte[] puzzle = generate(3, seed);
+            byte[] canonical = canonicalizer.canonicalize(puzzle);
+            long fingerprint = canonicalizer.fingerprint(puzzle);
+
+            for (int i = 0; i < TRANSFORM_COUNT; i++) {
+
+                PuzzleTransform.random(3, random).apply(puzzle, transformed);
+                assertArrayEquals(canonical, canonicalizer.canonicalize(transformed), "seed " + seed);
+                assertEquals(fingerprint, canonicalizer.fingerprint(transformed), "seed " + seed);
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Canonicalizes a board reached by a rotation and explicit line swaps, and checks that the canonical form is
+     * a fixed point.
+     */
+    @Test
+    void canonicalFormIsFixedPoint() {
+
+        PuzzleCanonicalizer canonicalizer = new PuzzleCanonicalizer(3);
+        byte[] puzzle = generate(3, 7);
+        byte[] transformed = new byte[81];
+        PuzzleTransform.identity(3).rotate().swapRows(0, 2).swapStacks(1, 2).transpose().apply(puzzle, transformed);
+
+        byte[] canonical = canonicalizer.canonicalize(puzzle);
+
+        assertArrayEquals(canonical, canonicalizer.canonicalize(transformed));
+        assertArrayEquals(canonical, canonicalizer.canonicalize(canonical));
+
+    }
+
+    /**
+     * Keeps puzzles apart that are no transformations of each other.
+     */
+    @Test
+    void distinguishesDifferentPuzzles() {
+
+        PuzzleCanonicalizer canonicalizer = new PuzzleCanonicalizer(3);
+        byte[] first = generate(3, 0);
+        byte[] second = generate(3, 1);
+
+        assertFalse(Arrays.equals(canonicalizer.canonicalize(first), canonicalizer.canonicalize(second)));
+        assertNotEquals(canonicalizer.fingerprint(first), canonicalizer.fingerprint(second));
+
+    }
+
+    /**
+     * Canonicalizes relabeled copies with reordered rows and bands of a 16x16 puzzle, the symmetries covered
+     * beyond {@link PuzzleCanonicalizer#MAX_FULL_SYMMETRY_SIZE}.
+     */
+    @Test
+    void largerCanonicalFormIsInvariantUnderRowOrdersAndRelabeling() {
+
+        PuzzleCanonicalizer canonicalizer = new PuzzleCanonicalizer(4);
+        byte[] puzzle = generate(4, 3);
+        byte[] transformed = new byte[256];
+        int[] labels = {16, 3, 5, 1, 2, 4, 6, 8, 7, 10, 9, 12, 11, 14, 13, 15};
+        PuzzleTransform.identity(4).swapRows(0, 3).swapRows(5, 6).swapBands(0, 2).relabel(labels)
+                .apply(puzzle, transformed);
+
+        assertArrayEquals(canonicalizer.canonicalize(puzzle), canonicalizer.canonicalize(transformed));
+
+    }
+
+    /* HELPER FUNCTIONS */
+
+    /**
+     * Generates a reproducible puzzle.
+     *
+     * @param size The size of the Sudoku grid (number of rows/columns in a subgrid).
+     * @param seed The seed of the puzzle.
+     * @return The values of the puzzle, zero marking an empty cell.
+     */
+    private static byte[] generate(int size, long seed) {
+
+        Board board = new Board(size, new SplittableRandom(seed));
+        board.generateBoard();
+        board.generatePuzzle(0.5);
+
+        return board.getValues();
+
+    }
+
+}
@@ -0,0 +1,137 @@
+package main.java.com.mms.solver;
+
+import main.java.com.mms.board.PuzzleFormat;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link DancingLinks} solver on puzzles with one, several and no solutions.
+ */
+class DancingLinksTest {
+
+    /**
+     * A 9x9 puzzle with a unique solution.
+     */
+    private static final String UNIQUE =
+            "7..13...8..5.......2..893.....2..45..4....2....7..5.3...2....9.8.3..6....9..1....";
+
+    /**
+     * The solution of {@link #UNIQUE}.
+     */
+    private static final String SOLUTION =
+            "769134528385627914421589367938271456546893271217465839152748693873956142694312785";
+
+    /**
+     * A 9x9 puzzle without conflicting givens but without a solution: the last cell of the first row can only
+     * hold a 9, which already occurs in its column.
+     */
+    private static final String CONTRADICTORY =
+            "12345678.........9" + ".".repeat(63);
+
+    /**
+     * The solver shared by the tests, which also checks that one instance can run many searches in a row.
+     */
+    private final DancingLinks solver = new DancingLinks(3);
+
+    /**
+     * Solves a unique puzzle and checks that the solution is written into the grid.
+     */
+    @Test
+    void solvesUniquePuzzle() {
+
+        byte[] grid = PuzzleFormat.parse(UNIQUE);
+
+        assertEquals(1, this.solver.solve(grid, 2));
+        assertArrayEquals(PuzzleFormat.parse(SOLUTION), grid);
+
+    }
+
+    /**
+     * Counts the solutions of a unique puzzle without modifying it.
+     */
+    @Test
+    void countsUniquePuzzle() {
+
+        byte[] grid = PuzzleFormat.parse(UNIQUE);
+
+        assertEquals(1, this.solver.countSolutions(grid, 2));
+        assertTrue(this.solver.isUnique(grid));
+        assertArrayEquals(PuzzleFormat.parse(UNIQUE), grid);
+
+    }
+
+    /**
+     * Stops counting the solutions of an empty grid at the limit.
+     */
+    @Test
+    void countsMultipleSolutionsUpToLimit() {
+
+        byte[] grid = new byte[81];
+
+        assertEquals(2, this.solver.countSolutions(grid, 2));
+        assertEquals(5, this.solver.countSolutions(grid, 5));
+        assertFalse(this.solver.isUnique(grid));
+
+    }
+
+    /**
+     * Finds no solution for a contradictory puzzle and leaves its grid unchanged.
+     */
+    @Test
+    void findsNoSolutionForContradictoryPuzzle() {
+
+        byte[] grid = PuzzleFormat.parse(CONTRADICTORY);
+
+        assertEquals(0, this.solver.solve(grid, 2));
+        assertEquals(0, this.solver.countSolutions(grid, 2));
+        assertFalse(this.solver.solve(grid));
+        assertArrayEquals(PuzzleFormat.parse(CONTRADICTORY), grid);
+
+    }
+
+    /**
+     * Abandons a search that exceeds its step limit and finishes it with a sufficient one.
+     */
+    @Test
+    void abandonsSearchAtStepLimit() {
+
+        byte[] grid = PuzzleFormat.parse(UNIQUE);
+
+        assertEquals(-1, this.solver.countSolutions(grid, 2, 1));
+        assertEquals(1, this.solver.countSolutions(grid, 2, Long.MAX_VALUE));
+
+    }
+
+    /**
+     * Rejects grids that do not match the size of the solver.
+     */
+    @Test
+    void rejectsGridOfWrongSize() {
+
+        assertThrows(IllegalArgumentException.class, () -> this.solver.solve(new byte[16], 2));
+
+    }
+
+    /**
+     * Rejects a grid holding a value beyond the grid and keeps answering correctly afterwards.
+     */
+    @Test
+    void staysIntactAfterInvalidValue() {
+
+        DancingLinks small = new DancingLinks(2);
+        byte[] invalid = new byte[16];
+        invalid[0] = 1;
+        invalid[5] = 9;
+
+        assertEquals(288, small.countSolutions(new byte[16], 1000));
+        assertThrows(IllegalArgumentException.class, () -> small.solve(invalid, 2));
+        assertEquals(288, small.countSolutions(new byte[16], 1000));
+
+    }
+
+}
@@ -0,0 +1,115 @@
+package main.java.com.mms.solver;
+
+import main.java.com.mms.board.PuzzleFormat;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that the {@link DifficultyRater} rates puzzles by the hardest technique they need.
+ */
+class DifficultyRaterTest {
+
+    /**
+     * The rater shared by the tests, which also checks that one instance can rate many puzzles in a row.
+     */
+    private final DifficultyRater rater = new DifficultyRater(3);
+
+    /**
+     * Rates a puzzle that hidden singles alone solve.
+     */
+    @Test
+    void ratesHiddenSingles() {
+
+        assertRating(Technique.HIDDEN_SINGLE,
+                "..1....7.......3.4468...5.2.......438..1..7.....9..6......6.8....3........6.7819.");
+
+    }
+
+    /**
+     * Rates a puzzle that needs naked singles besides hidden singles.
+     */
+    @Test
+    void ratesNakedSingles() {
+
+        assertRating(Technique.NAKED_SINGLE,
+                ".5..7..6..4..9.2........8393..2.8.....6..5.....1.6..9.5...........6....7...7..1.8");
+
+    }
+
+    /**
+     * Rates a puzzle that needs an X-Wing.
+     */
+    @Test
+    void ratesXWing() {
+
+        assertRating(Technique.X_WING,
+                "7..13...8..5.......2..893.....2..45..4....2....7..5.3...2....9.8.3..6....9..1....");
+
+    }
+
+    /**
+     * Rates a puzzle that needs a Swordfish.
+     */
+    @Test
+    void ratesSwordfish() {
+
+        assertRating(Technique.SWORDFISH,
+                "..3.4...62...5.....15..7...6....24..75....8....8.....13......8..7..3..........2.5");
+
+    }
+
+    /**
+     * Rates a complete board without applying any technique.
+     */
+    @Test
+    void ratesCompleteBoardAsZero() {
+
+        Rating rating = this.rater.rate(PuzzleFormat.parse(
+                "769134528385627914421589367938271456546893271217465839152748693873956142694312785"));
+
+        assertTrue(rating.isSolved());
+        assertNull(rating.getHardest());
+        assertEquals(0, rating.getScore());
+
+    }
+
+    /**
+     * Gives up on a grid no technique makes progress on, without modifying it.
+     */
+    @Test
+    void ratesEmptyGridAsUnsolved() {
+
+        byte[] grid = new byte[81];
+        Rating rating = this.rater.rate(grid);
+
+        assertFalse(rating.isSolved());
+        assertEquals(Rating.UNSOLVED_SCORE, rating.getScore());
+        assertArrayEquals(new byte[81], grid);
+
+    }
+
+    /* HELPER FUNCTIONS */
+
+    /**
+     * Rates a puzzle and checks that it was solved with the given technique as the hardest one.
+     *
+     * @param expected The hardest technique the puzzle needs.
+     * @param puzzle   The puzzle in the format of {@link PuzzleFormat}.
+     */
+    private void assertRating(Technique expected, String puzzle) {
+
+        Rating rating = this.rater.rate(PuzzleFormat.parse(puzzle));
+
+        assertTrue(rating.isSolved());
+        assertEquals(expected, rating.getHardest());
+        assertEquals(expected.getWeight(), rating.getScore());
+        assertTrue(rating.getSteps() > 0);
+
+    }
+
+}